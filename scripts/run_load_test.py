@@ -0,0 +1,73 @@
+#!/usr/bin/env python3
+"""Runs the product-service load-test harness, starting a local user-service on H2 when the
+user scenario is requested without an explicit --user-url.
+
+Examples:
+    python scripts/run_load_test.py
+    python scripts/run_load_test.py --scenarios=catalog,user --rate=300 --duration=120s
+"""
+import os
+import socket
+import subprocess
+import sys
+import time
+
+ROOT = os.path.dirname(os.path.dirname(os.path.abspath(__file__)))
+PRODUCT_SERVICE = os.path.join(ROOT, "services", "product-service")
+USER_SERVICE = os.path.join(ROOT, "services", "user-service")
+USER_SERVICE_PORT = 8081
+GRADLEW = "gradlew.bat" if os.name == "nt" else "./gradlew"
+
+
+def wait_for_port(port: int, timeout_seconds: int) -> bool:
+    deadline = time.time() + timeout_seconds
+    while time.time() < deadline:
+        try:
+            with socket.create_connection(("localhost", port), timeout=1):
+                return True
+        except OSError:
+            time.sleep(1)
+    return False
+
+
+def option(args, name):
+    prefix = "--" + name + "="
+    for arg in args:
+        if arg.startswith(prefix):
+            return arg[len(prefix):]
+    return None
+
+
+def main():
+    args = sys.argv[1:]
+    scenarios = (option(args, "scenarios") or "catalog").split(",")
+    user_service = None
+
+    if "user" in scenarios and option(args, "user-url") is None:
+        print(f"Starting user-service on port {USER_SERVICE_PORT}...")
+        user_service = subprocess.Popen(
+            [GRADLEW, "bootRun", f"--args=--server.port={USER_SERVICE_PORT}"],
+            cwd=USER_SERVICE,
+        )
+        if not wait_for_port(USER_SERVICE_PORT, 180):
+            user_service.terminate()
+            print("user-service did not start in time")
+            sys.exit(1)
+        args.append(f"--user-url=http://localhost:{USER_SERVICE_PORT}")
+
+    try:
+        result = subprocess.run(
+            [GRADLEW, "loadTest", "--args=" + " ".join(args)],
+            cwd=PRODUCT_SERVICE,
+        )
+    finally:
+        if user_service is not None:
+            user_service.terminate()
+            user_service.wait()
+
+    print(f"\nReports: {os.path.join(PRODUCT_SERVICE, 'build', 'reports', 'load')}")
+    sys.exit(result.returncode)
+
+
+if __name__ == "__main__":
+    main()
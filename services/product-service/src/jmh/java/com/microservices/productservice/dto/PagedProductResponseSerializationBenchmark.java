@@ -0,0 +1,72 @@
+package com.microservices.productservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing one listing page to the wire at the page sizes clients actually request,
+ * in each format the catalog endpoints negotiate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PagedProductResponseSerializationBenchmark {
+
+    @Param({"20", "100", "500"})
+    public int pageSize;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectWriter writer;
+    private PagedProductResponse response;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = switch (format) {
+            case "smile" -> new ObjectMapper(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build());
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            default -> new ObjectMapper();
+        };
+        writer = mapper.writerFor(PagedProductResponse.class);
+        long createdAt = 1_704_110_400_000L;
+        List<ProductResponse> items = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            items.add(ProductResponse.builder()
+                    .productId(String.valueOf(100_000 + i))
+                    .name("Wireless Mouse " + i)
+                    .description("Ergonomic wireless mouse with a 2.4 GHz receiver, model " + i)
+                    .price(new BigDecimal("29.99").add(BigDecimal.valueOf(i, 2)))
+                    .category("Electronics")
+                    .stockQuantity(i % 11)
+                    .imageUrl(i % 4 == 0 ? null : "https://cdn.example.com/products/" + i + ".jpg")
+                    .isAvailable(i % 11 != 0)
+                    .createdAt(createdAt + i)
+                    .updatedAt(createdAt + i * 1000L)
+                    .build());
+        }
+        response = PagedProductResponse.builder()
+                .items(items)
+                .totalItems(10_000L)
+                .totalPages(10_000 / pageSize)
+                .hasNext(true)
+                .nextCursor("eyJ2IjoiMjAyNC0wMS0wMSIsImlkIjoxMDB9")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeBytes() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
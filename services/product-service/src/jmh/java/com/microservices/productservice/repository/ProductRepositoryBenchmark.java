@@ -0,0 +1,135 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.dto.ProductListingRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing, count and batch-lookup queries against an in-process H2 catalog. The schema comes
+ * from the entities and rows are inserted with plain JDBC so no product events or index
+ * rebuilds run while measuring. H2 shows relative plan and mapping costs between releases;
+ * absolute numbers are not comparable with PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductRepositoryBenchmark {
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Kitchen", "Outdoor", "Apparel",
+            "Office", "Audio", "Home", "Toys", "Garden", "Books", "Sports"};
+    private static final long MIN_PRICE_CENTS = 0;
+    private static final long MAX_PRICE_CENTS = 100_000_000;
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private List<Long> lookupIds;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "eureka.client.enabled=false",
+                        "spring.kafka.listener.auto-startup=false",
+                        "spring.kafka.admin.auto-create=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.datasource.url=jdbc:h2:mem:jmh-" + catalogSize + ";DB_CLOSE_DELAY=-1",
+                        "product.index.enabled=false",
+                        "product.search.index-dir=" + Files.createTempDirectory("jmh-search"))
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        Random random = new Random(7);
+        lookupIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            lookupIds.add(1L + random.nextInt(catalogSize));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<ProductListingRow> firstPageByCreatedAt() {
+        return productRepository.findListingByPriceRange(MIN_PRICE_CENTS, MAX_PRICE_CENTS,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Benchmark
+    public Slice<ProductListingRow> deepPageByPrice() {
+        return productRepository.findListingByPriceRange(MIN_PRICE_CENTS, MAX_PRICE_CENTS,
+                PageRequest.of(catalogSize / 40, 20, Sort.by(Sort.Direction.ASC, "priceCents")));
+    }
+
+    @Benchmark
+    public Slice<ProductListingRow> categoryPageByName() {
+        String category = CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+        return productRepository.findListingByCategoryAndPriceRange(category, MIN_PRICE_CENTS, MAX_PRICE_CENTS,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name")));
+    }
+
+    @Benchmark
+    public long countByCategory() {
+        String category = CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+        return productRepository.countByCategoryAndPriceRange(category, MIN_PRICE_CENTS, MAX_PRICE_CENTS);
+    }
+
+    @Benchmark
+    public List<ProductListingRow> batchLookupOfFifty() {
+        return productRepository.findListingByIdIn(lookupIds);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> categories = new ArrayList<>();
+        for (String category : CATEGORIES) {
+            categories.add(new Object[]{category, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, created_at, updated_at) VALUES (?, ?, ?)", categories);
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 1; i <= catalogSize; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600)));
+            long priceCents = 100 + random.nextInt(500_000);
+            batch.add(new Object[]{
+                    "Product " + i,
+                    "Description for catalog item " + i,
+                    BigDecimal.valueOf(priceCents, 2),
+                    priceCents,
+                    categoryIds.get(random.nextInt(categoryIds.size())),
+                    random.nextInt(50),
+                    createdAt,
+                    createdAt
+            });
+            if (batch.size() == 1000 || i == catalogSize) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, price_cents, category_id, " +
+                        "inventory_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
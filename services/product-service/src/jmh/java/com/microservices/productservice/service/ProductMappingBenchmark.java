@@ -0,0 +1,63 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.dto.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing hot path that runs for every row of every page: projecting a listing row into the
+ * API response, and turning the sort parameter into a Spring Data Sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMappingBenchmark {
+
+    @Param({"createdAt", "-createdAt", "price", "-name"})
+    public String sort;
+
+    private ProductService productService;
+    private ProductListingRow row;
+    private List<ProductListingRow> page;
+
+    @Setup
+    public void setup() {
+        // Mapping touches none of the collaborators
+        productService = new ProductService(null, null, null, null, null, null, null, null, null);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        page = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            page.add(new ProductListingRow(id, "Product " + id, "Description of product " + id,
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(id)), "Electronics", (int) (id % 7),
+                    id % 3 == 0 ? null : "https://cdn.example.com/products/" + id + ".jpg",
+                    now.minusDays(id), now));
+        }
+        row = page.get(0);
+    }
+
+    @Benchmark
+    public ProductResponse mapRow() {
+        return productService.mapToProductResponse(row);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void mapPageOfHundred(Blackhole blackhole) {
+        for (ProductListingRow listingRow : page) {
+            blackhole.consume(productService.mapToProductResponse(listingRow));
+        }
+    }
+
+    @Benchmark
+    public Sort parseSort() {
+        return ProductService.parseSort(sort);
+    }
+}
@@ -0,0 +1,60 @@
+package com.microservices.productservice.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shopper traffic against ProductController: category browsing, sorted listing further down
+ * the catalog, and product detail views skewed towards a small set of popular products.
+ */
+public class CatalogScenario implements Scenario {
+    static final String[] CATEGORIES = {"Electronics", "Furniture", "Kitchen", "Outdoor", "Apparel",
+            "Office", "Audio", "Home", "Toys", "Garden", "Books", "Sports"};
+    private static final String[] SORTS = {"name", "price", "-price", "-createdAt"};
+
+    private final String baseUrl;
+    private final int catalogSize;
+    private final Duration timeout;
+
+    public CatalogScenario(String baseUrl, int catalogSize, Duration timeout) {
+        this.baseUrl = baseUrl + "/api/v1/products";
+        this.catalogSize = catalogSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "catalog";
+    }
+
+    @Override
+    public void setUp(HttpClient http) {
+    }
+
+    @Override
+    public List<Operation> operations() {
+        return List.of(
+                new Operation("browse", 50, random -> get("?category=" + CATEGORIES[random.nextInt(CATEGORIES.length)]
+                        + "&page=0&size=20&approximateTotals=true")),
+                new Operation("list", 20, random -> get("?page=" + random.nextInt(Math.max(1, catalogSize / 200))
+                        + "&size=20&sort=" + SORTS[random.nextInt(SORTS.length)] + "&includeTotals=false")),
+                new Operation("detail", 30, random -> {
+                    // Cubing a uniform sample concentrates views on the lowest ids
+                    double skewed = Math.pow(random.nextDouble(), 3);
+                    return get("/" + (1 + (long) (skewed * catalogSize)));
+                })
+        );
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
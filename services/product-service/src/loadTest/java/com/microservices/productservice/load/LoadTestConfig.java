@@ -0,0 +1,68 @@
+package com.microservices.productservice.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Defaults come from loadtest.properties on the classpath; each can be overridden on the
+ * command line as --key=value, e.g. --rate=500 --budget.catalog.detail.p99=20ms.
+ */
+public class LoadTestConfig {
+    private final Properties properties = new Properties();
+
+    public static LoadTestConfig load(String[] args) throws IOException {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults != null) {
+                config.properties.load(defaults);
+            }
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            config.properties.setProperty(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return config;
+    }
+
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = get(key);
+        return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+    }
+
+    /**
+     * The p99 budget for one operation, falling back to the scenario budget and then the
+     * global one.
+     */
+    public Duration p99Budget(String scenario, String operation) {
+        Duration global = getDuration("budget.p99", Duration.ofMillis(250));
+        return getDuration("budget." + scenario + "." + operation + ".p99",
+                getDuration("budget." + scenario + ".p99", global));
+    }
+}
@@ -0,0 +1,94 @@
+package com.microservices.productservice.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point for ./gradlew loadTest. Runs the configured scenarios one after another at an
+ * open-model arrival rate, prints corrected latency percentiles and exits non-zero when any
+ * operation misses its p99 budget or the error rate is too high.
+ *
+ * <p>Without --product-url the catalog scenario targets a product-service booted in this JVM
+ * on H2. user-service is a separate build, so the user scenario always needs --user-url;
+ * scripts/run_load_test.py starts a local instance for it.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        List<String> scenarioNames = List.of(config.get("scenarios", "catalog").split(","));
+        double rate = config.getDouble("rate", 200);
+        Duration warmup = config.getDuration("warmup", Duration.ofSeconds(10));
+        Duration duration = config.getDuration("duration", Duration.ofSeconds(60));
+        Duration timeout = config.getDuration("request-timeout", Duration.ofSeconds(10));
+        long seed = config.getInt("seed", 42);
+        int catalogSize = config.getInt("catalog-size", 20_000);
+        Path outputDir = Path.of(config.get("output-dir", "build/reports/load"));
+
+        ConfigurableApplicationContext standIn = null;
+        boolean passed;
+        try {
+            List<Scenario> scenarios = new ArrayList<>();
+            for (String name : scenarioNames) {
+                switch (name.trim()) {
+                    case "catalog" -> {
+                        String productUrl = config.get("product-url");
+                        if (productUrl == null) {
+                            standIn = ProductServiceStandIn.start(catalogSize, seed);
+                            productUrl = "http://localhost:" + ProductServiceStandIn.port(standIn);
+                        }
+                        scenarios.add(new CatalogScenario(productUrl, catalogSize, timeout));
+                    }
+                    case "user" -> {
+                        String userUrl = config.get("user-url");
+                        if (userUrl == null) {
+                            throw new IllegalArgumentException("The user scenario needs --user-url");
+                        }
+                        scenarios.add(new UserScenario(userUrl, config.getInt("user-pool", 200), timeout));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown scenario " + name);
+                }
+            }
+
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(timeout)
+                    .build();
+            SloReport report = new SloReport(config.getDouble("max-error-rate", 0.001));
+            for (Scenario scenario : scenarios) {
+                scenario.setUp(http);
+                System.out.printf("Running %s at %.0f req/s for %s after %s warmup%n",
+                        scenario.name(), rate, duration, warmup);
+                OpenLoopRunner runner = new OpenLoopRunner(http, rate, warmup, duration, seed);
+                for (OpenLoopRunner.OperationResult result : runner.run(scenario.operations()).values()) {
+                    report.add(scenario.name(), result, config.p99Budget(scenario.name(), result.name()), outputDir);
+                }
+            }
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("scenarios", scenarioNames);
+            settings.put("rate", rate);
+            settings.put("warmup", warmup.toString());
+            settings.put("duration", duration.toString());
+            settings.put("seed", seed);
+            settings.put("catalogSize", catalogSize);
+            report.write(outputDir, settings);
+            passed = report.passed();
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+}
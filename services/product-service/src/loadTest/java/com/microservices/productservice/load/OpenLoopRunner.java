@@ -0,0 +1,138 @@
+package com.microservices.productservice.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator. Requests are scheduled on a Poisson arrival process at the
+ * target rate regardless of how fast earlier requests complete, and each is handed to its
+ * own virtual thread so a slow server cannot hold back the schedule.
+ *
+ * <p>Response time is measured from the intended start time rather than the moment the
+ * request was actually sent. If the dispatcher or the client falls behind, the delay counts
+ * against the server, which corrects for coordinated omission. Service time, measured from
+ * the actual send, is kept alongside so the two can be compared.
+ */
+public class OpenLoopRunner {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final HttpClient http;
+    private final double requestsPerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    public OpenLoopRunner(HttpClient http, double requestsPerSecond, Duration warmup, Duration duration, long seed) {
+        this.http = http;
+        this.requestsPerSecond = requestsPerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seed = seed;
+    }
+
+    public Map<String, OperationResult> run(List<Operation> operations) {
+        Map<String, Recorders> recorders = new LinkedHashMap<>();
+        int totalWeight = 0;
+        for (Operation operation : operations) {
+            recorders.put(operation.name(), new Recorders());
+            totalWeight += operation.weight();
+        }
+
+        Random random = new Random(seed);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            double offset = 0;
+            long intended = start;
+            while (intended < end) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick(operations, totalWeight, random);
+                HttpRequest request = operation.request().apply(random);
+                Recorders target = intended >= measureFrom ? recorders.get(operation.name()) : null;
+                long scheduledAt = intended;
+                executor.execute(() -> send(request, scheduledAt, target));
+
+                offset += -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos;
+                intended = start + (long) offset;
+            }
+        }
+
+        Map<String, OperationResult> results = new LinkedHashMap<>();
+        recorders.forEach((name, r) -> results.put(name, new OperationResult(name,
+                r.responseTime.getIntervalHistogram(), r.serviceTime.getIntervalHistogram(),
+                r.errors.get(), duration)));
+        return results;
+    }
+
+    private void send(HttpRequest request, long intended, Recorders target) {
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            ok = status >= 200 && status < 300;
+        } catch (Exception e) {
+            ok = false;
+        }
+        long done = System.nanoTime();
+        if (target == null) {
+            return;
+        }
+        if (!ok) {
+            target.errors.incrementAndGet();
+        }
+        target.responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (done - intended) / 1000));
+        target.serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (done - sent) / 1000));
+    }
+
+    private static Operation pick(List<Operation> operations, int totalWeight, Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private static final class Recorders {
+        final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    /**
+     * Latencies are in microseconds.
+     */
+    public record OperationResult(String name, Histogram responseTime, Histogram serviceTime,
+                                  long errors, Duration measured) {
+
+        public long requests() {
+            return responseTime.getTotalCount();
+        }
+
+        public double throughput() {
+            return requests() / (measured.toMillis() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.microservices.productservice.load;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * One request type in a traffic mix. The factory runs on the single dispatcher thread with
+ * the seeded random, so a given seed always produces the same request sequence.
+ */
+public record Operation(String name, int weight, Function<Random, HttpRequest> request) {
+}
@@ -0,0 +1,70 @@
+package com.microservices.productservice.load;
+
+import com.microservices.productservice.ProductServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots product-service in this JVM on an in-memory H2 database with Kafka listeners and
+ * Eureka switched off, then seeds a deterministic catalog over JDBC.
+ */
+public final class ProductServiceStandIn {
+
+    private ProductServiceStandIn() {
+    }
+
+    public static ConfigurableApplicationContext start(int catalogSize, long seed) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "spring.kafka.listener.auto-startup=false",
+                        "spring.kafka.admin.auto-create=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                        "product.index.enabled=false",
+                        "product.search.index-dir=" + Files.createTempDirectory("load-test-search"))
+                .run();
+        seed(context.getBean(JdbcTemplate.class), catalogSize, seed);
+        return context;
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int catalogSize, long seed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> categories = new ArrayList<>();
+        for (String category : CatalogScenario.CATEGORIES) {
+            categories.add(new Object[]{category, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, created_at, updated_at) VALUES (?, ?, ?)", categories);
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        Random random = new Random(seed);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 1; i <= catalogSize; i++) {
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextInt(525_600)));
+            long priceCents = 100 + random.nextInt(500_000);
+            batch.add(new Object[]{"Product " + i, "Description for catalog item " + i,
+                    BigDecimal.valueOf(priceCents, 2), priceCents,
+                    categoryIds.get(random.nextInt(categoryIds.size())), random.nextInt(50), createdAt, createdAt});
+            if (batch.size() == 1000 || i == catalogSize) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, price_cents, category_id, " +
+                        "inventory_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.microservices.productservice.load;
+
+import java.net.http.HttpClient;
+import java.util.List;
+
+public interface Scenario {
+
+    String name();
+
+    /**
+     * Prepares state the mix depends on (seed data, registered users) before the clock starts.
+     */
+    void setUp(HttpClient http) throws Exception;
+
+    List<Operation> operations();
+}
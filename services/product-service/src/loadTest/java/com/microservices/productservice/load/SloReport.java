@@ -0,0 +1,105 @@
+package com.microservices.productservice.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares each operation's corrected p99 with its budget and the overall error rate with
+ * the allowed maximum, prints a summary table and writes a JSON report plus one .hgrm
+ * percentile distribution per operation.
+ */
+public class SloReport {
+    private final List<Map<String, Object>> operations = new ArrayList<>();
+    private final double maxErrorRate;
+    private long requests;
+    private long errors;
+    private boolean passed = true;
+
+    public SloReport(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public void add(String scenario, OpenLoopRunner.OperationResult result, Duration budget, Path outputDir)
+            throws IOException {
+        Histogram latency = result.responseTime();
+        long p99Micros = latency.getValueAtPercentile(99.0);
+        boolean withinBudget = result.requests() > 0 && p99Micros <= budget.toNanos() / 1000;
+        passed &= withinBudget;
+        requests += result.requests();
+        errors += result.errors();
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("scenario", scenario);
+        row.put("operation", result.name());
+        row.put("requests", result.requests());
+        row.put("errors", result.errors());
+        row.put("throughput", round(result.throughput()));
+        row.put("p50Ms", millis(latency.getValueAtPercentile(50.0)));
+        row.put("p90Ms", millis(latency.getValueAtPercentile(90.0)));
+        row.put("p99Ms", millis(p99Micros));
+        row.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+        row.put("maxMs", millis(latency.getMaxValue()));
+        row.put("serviceTimeP99Ms", millis(result.serviceTime().getValueAtPercentile(99.0)));
+        row.put("budgetP99Ms", budget.toMillis());
+        row.put("passed", withinBudget);
+        operations.add(row);
+
+        Files.createDirectories(outputDir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(
+                outputDir.resolve(scenario + "-" + result.name() + ".hgrm")))) {
+            latency.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    public boolean passed() {
+        return passed && errorRate() <= maxErrorRate;
+    }
+
+    public void write(Path outputDir, Map<String, Object> settings) throws IOException {
+        System.out.printf("%n%-8s %-9s %9s %7s %9s %9s %9s %9s %9s %9s  %s%n", "scenario", "operation",
+                "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "budget", "result");
+        for (Map<String, Object> row : operations) {
+            System.out.printf("%-8s %-9s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9d  %s%n",
+                    row.get("scenario"), row.get("operation"), row.get("requests"), row.get("errors"),
+                    row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"),
+                    row.get("budgetP99Ms"), Boolean.TRUE.equals(row.get("passed")) ? "PASS" : "FAIL");
+        }
+        System.out.printf("error rate %.4f%% (max %.4f%%): %s%n", errorRate() * 100, maxErrorRate * 100,
+                passed() ? "PASS" : "FAIL");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("operations", operations);
+        report.put("errorRate", errorRate());
+        report.put("maxErrorRate", maxErrorRate);
+        report.put("passed", passed());
+        Files.createDirectories(outputDir);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(outputDir.resolve("report.json").toFile(), report);
+    }
+
+    private double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
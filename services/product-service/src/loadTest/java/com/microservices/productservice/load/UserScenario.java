@@ -0,0 +1,83 @@
+package com.microservices.productservice.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Account traffic against user-service's AuthController and UserController. A pool of users
+ * is registered up front so login and profile requests hit existing accounts, while the
+ * register operation keeps creating new ones.
+ */
+public class UserScenario implements Scenario {
+    private static final String PASSWORD = "load-test-password";
+
+    private final String baseUrl;
+    private final int userPool;
+    private final Duration timeout;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private long registered;
+
+    public UserScenario(String baseUrl, int userPool, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.userPool = userPool;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "user";
+    }
+
+    @Override
+    public void setUp(HttpClient http) throws Exception {
+        for (int i = 0; i < userPool; i++) {
+            String email = nextEmail();
+            HttpResponse<String> response = http.send(register(email), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Could not register load-test user " + email + ": HTTP "
+                        + response.statusCode());
+            }
+            emails.add(email);
+            tokens.add(response.body().trim());
+        }
+    }
+
+    @Override
+    public List<Operation> operations() {
+        return List.of(
+                new Operation("register", 10, random -> register(nextEmail())),
+                new Operation("login", 30, random -> post("/api/auth/login",
+                        "{\"email\":\"" + emails.get(random.nextInt(emails.size())) + "\",\"password\":\"" + PASSWORD + "\"}")),
+                new Operation("profile", 60, random -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/profile"))
+                        .timeout(timeout)
+                        .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())))
+                        .GET()
+                        .build())
+        );
+    }
+
+    private HttpRequest register(String email) {
+        return post("/api/auth/register",
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\",\"name\":\"Load Test\"}");
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String nextEmail() {
+        return "load-" + runId + "-" + (registered++) + "@example.com";
+    }
+}
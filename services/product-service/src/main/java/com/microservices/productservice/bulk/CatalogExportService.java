@@ -0,0 +1,78 @@
+package com.microservices.productservice.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as NDJSON straight from a database cursor. Rows are DTO
+ * projections, so nothing accumulates in the persistence context, and each row is
+ * serialized and handed to the output before the next is read: memory stays flat
+ * whatever the catalog size.
+ */
+@Service
+@Slf4j
+public class CatalogExportService {
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final int flushEvery;
+
+    public CatalogExportService(ProductRepository productRepository,
+                                ProductService productService,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${product.export.flush-every:1000}") int flushEvery) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushEvery = flushEvery;
+    }
+
+    public long writeNdjson(OutputStream output) {
+        long started = System.nanoTime();
+        Long written = readOnlyTransaction.execute(status -> {
+            try (Stream<ProductListingRow> rows = productRepository.streamListing();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+                         .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                long count = 0;
+                Iterator<ProductListingRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    rowWriter.writeValue(generator, productService.mapToProductResponse(iterator.next()));
+                    generator.writeRaw('\n');
+                    // First row goes out immediately so clients see data before the cursor drains
+                    if (++count == 1 || count % flushEvery == 0) {
+                        generator.flush();
+                    }
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} products in {} ms", written, (System.nanoTime() - started) / 1_000_000);
+        return written != null ? written : 0;
+    }
+}
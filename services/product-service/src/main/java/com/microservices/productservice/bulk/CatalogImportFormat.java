@@ -0,0 +1,13 @@
+package com.microservices.productservice.bulk;
+
+public enum CatalogImportFormat {
+    CSV,
+    NDJSON;
+
+    public static CatalogImportFormat fromContentType(String contentType) {
+        if (contentType != null && (contentType.contains("ndjson") || contentType.contains("json"))) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,304 @@
+package com.microservices.productservice.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.dto.CatalogImportChunkReport;
+import com.microservices.productservice.dto.CatalogImportError;
+import com.microservices.productservice.dto.CatalogImportReport;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.util.PriceUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams a supplier catalog into the products, categories and product_images tables.
+ * Rows are read one at a time and written per chunk: ids come from one sequence call per
+ * chunk and rows go out as multi-row INSERTs, avoiding the per-row round trips that
+ * IDENTITY ids force on JPA. Each chunk commits on its own, together with its product
+ * event, so a bad chunk is reported and skipped without losing the rest of the file.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+    private static final String INSERT_PRODUCTS = "INSERT INTO products " +
+            "(id, name, description, price, price_cents, category_id, inventory_count, created_at, updated_at) VALUES ";
+    private static final String PRODUCT_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IMAGES = "INSERT INTO product_images " +
+            "(id, product_id, url, is_primary, created_at) VALUES ";
+    private static final String IMAGE_VALUES = "(?, ?, ?, ?, ?)";
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final int chunkSize;
+    private final int insertBatchSize;
+    private final int maxErrorsPerChunk;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                IdBlockAllocator idBlockAllocator,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                @Value("${product.import.chunk-size:5000}") int chunkSize,
+                                @Value("${product.import.insert-batch-size:500}") int insertBatchSize,
+                                @Value("${product.import.max-errors-per-chunk:50}") int maxErrorsPerChunk) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.idBlockAllocator = idBlockAllocator;
+        this.objectMapper = objectMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.chunkSize = chunkSize;
+        this.insertBatchSize = insertBatchSize;
+        this.maxErrorsPerChunk = maxErrorsPerChunk;
+    }
+
+    public CatalogImportReport importCatalog(InputStream input, CatalogImportFormat format) throws IOException {
+        long started = System.nanoTime();
+        Map<String, Long> categories = loadCategories();
+        int categoriesBefore = categories.size();
+        List<CatalogImportChunkReport> chunkReports = new ArrayList<>();
+        long rowsRead = 0;
+        long rowsImported = 0;
+
+        InputStreamReader text = new InputStreamReader(input, StandardCharsets.UTF_8);
+        try (ImportRowReader reader = format == CatalogImportFormat.NDJSON
+                ? new NdjsonRowReader(text, objectMapper)
+                : new CsvRowReader(text)) {
+            Chunk chunk = new Chunk(chunkReports.size() + 1);
+            boolean more = true;
+            while (more) {
+                try {
+                    ImportRow row = reader.next();
+                    if (row == null) {
+                        more = false;
+                    } else {
+                        chunk.accept(row);
+                    }
+                } catch (ImportRowException e) {
+                    chunk.fail(e.getLine(), e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize || (!more && chunk.size() > 0)) {
+                    CatalogImportChunkReport report = write(chunk, categories);
+                    chunkReports.add(report);
+                    rowsRead += report.getRows();
+                    rowsImported += report.getImported();
+                    chunk = new Chunk(chunkReports.size() + 1);
+                }
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} of {} catalog rows in {} ms", rowsImported, rowsRead, elapsedMillis);
+        return CatalogImportReport.builder()
+                .rowsRead(rowsRead)
+                .rowsImported(rowsImported)
+                .rowsFailed(rowsRead - rowsImported)
+                .categoriesCreated(categories.size() - categoriesBefore)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rowsRead * 1000.0 / elapsedMillis)
+                .chunks(chunkReports)
+                .build();
+    }
+
+    private CatalogImportChunkReport write(Chunk chunk, Map<String, Long> categories) {
+        long started = System.nanoTime();
+        List<String> createdCategories = new ArrayList<>();
+        int imported = 0;
+        try {
+            imported = transactionTemplate.execute(status -> {
+                int inserted = insert(chunk.valid, categories, createdCategories);
+                if (inserted > 0) {
+                    // Raised inside the chunk's transaction so its outbox row commits with the rows
+                    applicationEventPublisher.publishEvent(ProductEvent.builder()
+                            .timestamp(LocalDateTime.now())
+                            .eventType("ProductsImported")
+                            .build());
+                }
+                return inserted;
+            });
+        } catch (DataAccessException e) {
+            // The chunk rolled back, including any categories it created
+            createdCategories.forEach(categories::remove);
+            String message = e.getMostSpecificCause().getMessage();
+            log.warn("Catalog import chunk {} failed: {}", chunk.index, message);
+            List<ValidRow> rolledBack = new ArrayList<>(chunk.valid);
+            chunk.valid.clear();
+            for (ValidRow row : rolledBack) {
+                chunk.fail(row.line(), message);
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.debug("Catalog import chunk {}: {} rows, {} imported, {} failed in {} ms",
+                chunk.index, chunk.size(), imported, chunk.failed, elapsedMillis);
+        return CatalogImportChunkReport.builder()
+                .chunk(chunk.index)
+                .firstLine(chunk.firstLine)
+                .rows(chunk.size())
+                .imported(imported)
+                .failed(chunk.failed)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(chunk.size() * 1000.0 / elapsedMillis)
+                .errors(chunk.errors)
+                .build();
+    }
+
+    private int insert(List<ValidRow> rows, Map<String, Long> categories, List<String> createdCategories) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (ValidRow row : rows) {
+            if (row.category() != null && !categories.containsKey(row.category())) {
+                long categoryId = idBlockAllocator.allocate("categories", 1)[0];
+                jdbcTemplate.update("INSERT INTO categories (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                        categoryId, row.category(), now, now);
+                categories.put(row.category(), categoryId);
+                createdCategories.add(row.category());
+            }
+        }
+
+        long[] productIds = idBlockAllocator.allocate("products", rows.size());
+        List<Object[]> products = new ArrayList<>(rows.size());
+        List<Object[]> images = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ValidRow row = rows.get(i);
+            products.add(new Object[]{productIds[i], row.name(), row.description(), row.price(),
+                    PriceUnits.toMinorUnits(row.price(), RoundingMode.HALF_UP),
+                    row.category() != null ? categories.get(row.category()) : null, row.inventoryCount(), now, now});
+            if (row.imageUrl() != null) {
+                images.add(new Object[]{null, productIds[i], row.imageUrl(), true, now});
+            }
+        }
+
+        long[] imageIds = idBlockAllocator.allocate("product_images", images.size());
+        for (int i = 0; i < images.size(); i++) {
+            images.get(i)[0] = imageIds[i];
+        }
+
+        insertRows(INSERT_PRODUCTS, PRODUCT_VALUES, products);
+        insertRows(INSERT_IMAGES, IMAGE_VALUES, images);
+        return rows.size();
+    }
+
+    private void insertRows(String insert, String values, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += insertBatchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(rows.size(), from + insertBatchSize));
+            String sql = statements.computeIfAbsent(insert + batch.size(), key ->
+                    insert + String.join(", ", Collections.nCopies(batch.size(), values)));
+            Object[] args = new Object[batch.size() * batch.get(0).length];
+            int position = 0;
+            for (Object[] row : batch) {
+                System.arraycopy(row, 0, args, position, row.length);
+                position += row.length;
+            }
+            jdbcTemplate.update(sql, args);
+        }
+    }
+
+    private Map<String, Long> loadCategories() {
+        Map<String, Long> categories = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM categories", rs -> {
+            categories.putIfAbsent(rs.getString("name"), rs.getLong("id"));
+        });
+        return categories;
+    }
+
+    private record ValidRow(long line, String name, String description, BigDecimal price, String category,
+                            int inventoryCount, String imageUrl) {
+    }
+
+    private class Chunk {
+        private final int index;
+        private final List<ValidRow> valid = new ArrayList<>();
+        private final List<CatalogImportError> errors = new ArrayList<>();
+        private long firstLine = -1;
+        private int failed;
+
+        private Chunk(int index) {
+            this.index = index;
+        }
+
+        private int size() {
+            return valid.size() + failed;
+        }
+
+        private void accept(ImportRow row) {
+            markLine(row.getLine());
+            String name = trimToNull(row.getName());
+            if (name == null) {
+                fail(row.getLine(), "name is required");
+                return;
+            }
+            if (name.length() > MAX_TEXT_LENGTH || length(row.getDescription()) > MAX_TEXT_LENGTH
+                    || length(row.getImageUrl()) > MAX_TEXT_LENGTH || length(row.getCategory()) > MAX_TEXT_LENGTH) {
+                fail(row.getLine(), "values must be at most " + MAX_TEXT_LENGTH + " characters");
+                return;
+            }
+
+            BigDecimal price;
+            int inventoryCount;
+            try {
+                price = new BigDecimal(row.getPrice().trim());
+                inventoryCount = row.getInventoryCount() != null ? Integer.parseInt(row.getInventoryCount().trim()) : 0;
+            } catch (NullPointerException | NumberFormatException e) {
+                fail(row.getLine(), "price and inventoryCount must be numbers");
+                return;
+            }
+            if (price.signum() < 0 || inventoryCount < 0) {
+                fail(row.getLine(), "price and inventoryCount must not be negative");
+                return;
+            }
+
+            valid.add(new ValidRow(row.getLine(), name, trimToNull(row.getDescription()), price,
+                    trimToNull(row.getCategory()), inventoryCount, trimToNull(row.getImageUrl())));
+        }
+
+        private void fail(long line, String message) {
+            markLine(line);
+            failed++;
+            if (errors.size() < maxErrorsPerChunk) {
+                errors.add(new CatalogImportError(line, message));
+            }
+        }
+
+        private void markLine(long line) {
+            if (firstLine < 0) {
+                firstLine = line;
+            }
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
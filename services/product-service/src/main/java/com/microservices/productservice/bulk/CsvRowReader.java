@@ -0,0 +1,133 @@
+package com.microservices.productservice.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming RFC 4180 reader. The first record is a header naming the columns (name,
+ * description, price, category, inventoryCount, imageUrl, in any order); quoted fields
+ * may contain separators, doubled quotes and line breaks.
+ */
+class CsvRowReader implements ImportRowReader {
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private Map<String, Integer> columns;
+    private long line = 1;
+    private boolean endOfStream;
+
+    CsvRowReader(Reader reader) {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price")) {
+                throw new IOException("CSV header must contain name and price columns");
+            }
+        }
+
+        List<String> record;
+        long startLine;
+        do {
+            startLine = line;
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        return ImportRow.builder()
+                .line(startLine)
+                .name(value(record, "name"))
+                .description(value(record, "description"))
+                .price(value(record, "price"))
+                .category(value(record, "category"))
+                .inventoryCount(value(record, "inventorycount"))
+                .imageUrl(value(record, "imageurl"))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> readRecord() throws IOException {
+        if (endOfStream) {
+            return null;
+        }
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean sawAny = false;
+        long startLine = line;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                endOfStream = true;
+                if (quoted) {
+                    throw new ImportRowException(startLine, "Unterminated quoted field");
+                }
+                if (!sawAny) {
+                    return null;
+                }
+                record.add(field.toString());
+                return record;
+            }
+            sawAny = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                record.add(field.toString());
+                return record;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+}
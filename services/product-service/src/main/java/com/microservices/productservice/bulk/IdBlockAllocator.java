@@ -0,0 +1,34 @@
+package com.microservices.productservice.bulk;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reserves a block of ids from a table's identity sequence in one round trip, so rows can
+ * be written with explicit ids in multi-row inserts instead of one insert per generated key.
+ */
+@Component
+class IdBlockAllocator {
+    private static final String NEXT_IDS =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    IdBlockAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    long[] allocate(String table, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, table, count);
+        long[] block = new long[ids.size()];
+        for (int i = 0; i < block.length; i++) {
+            block[i] = ids.get(i);
+        }
+        return block;
+    }
+}
@@ -0,0 +1,24 @@
+package com.microservices.productservice.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One raw catalog record as read from the import stream. Values stay strings until the
+ * import validates them, so a bad value fails its row instead of the whole stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRow {
+    private long line;
+    private String name;
+    private String description;
+    private String price;
+    private String category;
+    private String inventoryCount;
+    private String imageUrl;
+}
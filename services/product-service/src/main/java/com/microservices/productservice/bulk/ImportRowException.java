@@ -0,0 +1,15 @@
+package com.microservices.productservice.bulk;
+
+import lombok.Getter;
+
+@Getter
+class ImportRowException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+
+    ImportRowException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+}
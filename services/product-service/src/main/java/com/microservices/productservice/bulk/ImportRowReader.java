@@ -0,0 +1,13 @@
+package com.microservices.productservice.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+interface ImportRowReader extends Closeable {
+
+    /**
+     * @return the next row, or null at the end of the stream
+     * @throws ImportRowException when a single record cannot be parsed; reading may continue
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,48 @@
+package com.microservices.productservice.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads one JSON object per line. Each line is parsed on its own so a malformed record
+ * only costs that record.
+ */
+class NdjsonRowReader implements ImportRowReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String json;
+        do {
+            json = reader.readLine();
+            if (json == null) {
+                return null;
+            }
+            line++;
+        } while (json.isBlank());
+
+        try {
+            ImportRow row = objectMapper.readValue(json, ImportRow.class);
+            row.setLine(line);
+            return row;
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.microservices.productservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Holds back the flushes Spring MVC issues after writing a body, so a short response is still
+ * in Tomcat's buffer when the request completes. Tomcat then knows the Content-Length and
+ * applies server.compression.min-response-size; a flushed response is committed chunked and
+ * gets compressed whatever its size. Once a request goes async, as NDJSON streams and the
+ * catalog export do, flushes pass through again.
+ */
+class DeferredFlushFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new HttpServletResponseWrapper(response) {
+            private ServletOutputStream outputStream;
+
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                if (outputStream == null) {
+                    outputStream = new DeferredFlushOutputStream(super.getOutputStream(), request);
+                }
+                return outputStream;
+            }
+
+            @Override
+            public void flushBuffer() throws IOException {
+                if (request.isAsyncStarted()) {
+                    super.flushBuffer();
+                }
+            }
+        });
+    }
+
+    private static final class DeferredFlushOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final HttpServletRequest request;
+
+        private DeferredFlushOutputStream(ServletOutputStream delegate, HttpServletRequest request) {
+            this.delegate = delegate;
+            this.request = request;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (request.isAsyncStarted()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
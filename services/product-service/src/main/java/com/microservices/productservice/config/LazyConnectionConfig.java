@@ -0,0 +1,41 @@
+package com.microservices.productservice.config;
+
+import com.microservices.productservice.datasource.BulkheadDataSource;
+import com.microservices.productservice.datasource.ConnectionBulkhead;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Defers the pool checkout of every transaction to its first statement. ProductService
+ * reads run in read-only transactions, and most of them are answered from the caches, the
+ * in-memory index or another caller's in-flight load without touching the database; with
+ * the proxy those never hold a connection. Checkouts that do reach the pool go through the
+ * {@link ConnectionBulkhead}. {@link ReadReplicaConfig} already returns a lazy proxy with
+ * its primary behind the bulkhead, which is left as it is.
+ */
+@Configuration
+public class LazyConnectionConfig {
+
+    @Bean
+    static BeanPostProcessor lazyConnectionDataSource(Environment environment,
+                                                      ObjectProvider<ConnectionBulkhead> bulkhead) {
+        boolean bulkheadEnabled = environment.getProperty("product.bulkhead.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                return new LazyConnectionDataSourceProxy(bulkheadEnabled
+                        ? new BulkheadDataSource(dataSource, bulkhead::getObject)
+                        : dataSource);
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.microservices.productservice.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Connection pool for the reactive read path. The pool is deliberately not registered as
+ * a ConnectionFactory bean: Spring Boot backs off its JDBC DataSource when one exists,
+ * and JPA stays the write path in this profile.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReadConfig implements DisposableBean {
+    private final ConnectionPool connectionPool;
+
+    public ReactiveReadConfig(@Value("${product.r2dbc.url}") String url,
+                              @Value("${product.r2dbc.username:}") String username,
+                              @Value("${product.r2dbc.password:}") String password,
+                              @Value("${product.r2dbc.pool.max-size:20}") int maxSize,
+                              @Value("${product.r2dbc.pool.max-acquire-time:5s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .maxSize(maxSize)
+                .initialSize(Math.min(maxSize, 4))
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient productDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,101 @@
+package com.microservices.productservice.config;
+
+import com.microservices.productservice.datasource.BulkheadDataSource;
+import com.microservices.productservice.datasource.ConnectionBulkhead;
+import com.microservices.productservice.datasource.ReplicaRoutingDataSource;
+import com.microservices.productservice.datasource.ReplicaSelector;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions to
+ * the replicas in {@code product.datasource.replicas.urls}. Every target gets its own
+ * Hikari pool, configured from {@code spring.datasource.hikari} and tagged by pool name in
+ * the hikaricp metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.datasource.replicas.urls")
+public class ReadReplicaConfig implements DisposableBean {
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ReadReplicaConfig(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ReplicaSelector replicaSelector(
+            DataSourceProperties properties,
+            @Value("${product.datasource.replicas.urls}") List<String> urls,
+            @Value("${product.datasource.replicas.username:}") String username,
+            @Value("${product.datasource.replicas.password:}") String password,
+            @Value("${product.datasource.replicas.pool-size:0}") int poolSize,
+            @Value("${product.datasource.replicas.lag-query:" + ReplicaSelector.POSTGRES_LAG_QUERY + "}") String lagQuery,
+            @Value("${product.datasource.replicas.max-staleness:2s}") Duration maxStaleness,
+            @Value("${product.datasource.replicas.pin-after-write:2s}") Duration pinAfterWrite,
+            @Value("${product.datasource.replicas.check-timeout:1s}") Duration checkTimeout) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool(properties, "replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            if (!username.isEmpty()) {
+                replica.setUsername(username);
+                replica.setPassword(password);
+            }
+            if (poolSize > 0) {
+                replica.setMaximumPoolSize(poolSize);
+            }
+            replica.setReadOnly(true);
+            // A dead replica should fail its checkout fast and be routed around
+            replica.setConnectionTimeout(Math.max(250, checkTimeout.toMillis()));
+            replicas.put("replica-" + i, replica);
+        }
+        return new ReplicaSelector(replicas, lagQuery, maxStaleness, pinAfterWrite, checkTimeout, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicaSelector replicaSelector,
+                                 ObjectProvider<ConnectionBulkhead> bulkhead) {
+        // Only the primary pool is bulkheaded; each replica pool bounds its own connections
+        DataSource primary = pool(properties, ReplicaSelector.PRIMARY);
+        if (bulkhead.getIfAvailable() != null) {
+            primary = new BulkheadDataSource(primary, bulkhead::getObject);
+        }
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaSelector));
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("product-" + name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+}
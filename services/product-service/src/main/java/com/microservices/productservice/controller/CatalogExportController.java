@@ -0,0 +1,40 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.bulk.CatalogExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class CatalogExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final CatalogExportService catalogExportService;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean compress = gzip || (acceptEncoding != null && acceptEncoding.contains("gzip"));
+        StreamingResponseBody body = compress
+                ? output -> {
+                    GZIPOutputStream gzipped = new GZIPOutputStream(output, 64 * 1024, true);
+                    catalogExportService.writeNdjson(gzipped);
+                    gzipped.finish();
+                }
+                : catalogExportService::writeNdjson;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON);
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).body(body);
+    }
+}
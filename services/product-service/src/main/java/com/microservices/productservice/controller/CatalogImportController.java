@@ -0,0 +1,31 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.bulk.CatalogImportFormat;
+import com.microservices.productservice.bulk.CatalogImportService;
+import com.microservices.productservice.dto.CatalogImportReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class CatalogImportController {
+    private final CatalogImportService catalogImportService;
+
+    /**
+     * Accepts the catalog as the raw request body (text/csv or application/x-ndjson) and
+     * reads it as it arrives, so file size is bounded by the database, not the heap.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/json"})
+    public ResponseEntity<CatalogImportReport> importCatalog(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        CatalogImportReport report = catalogImportService.importCatalog(body, CatalogImportFormat.fromContentType(contentType));
+        return ResponseEntity.ok(report);
+    }
+}
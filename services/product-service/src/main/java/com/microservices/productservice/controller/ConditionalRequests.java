@@ -0,0 +1,141 @@
+package com.microservices.productservice.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+final class ConditionalRequests {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    // Same order as the message converters, so a wildcard resolves to JSON here as well
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, SMILE, CBOR);
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Entity tag for the format the Accept header negotiates. JSON, Smile and CBOR encode a
+     * revision as different bytes, so each gets its own tag. The tag is strong unless the client
+     * accepts gzip: Tomcat never compresses a response carrying a strong validator, and the
+     * compressed bytes differ from the ones the tag was derived from, so only those responses
+     * get a weak tag. Revalidation compares weakly either way.
+     */
+    static String variantEtag(String etag, String accept, String acceptEncoding) {
+        if (etag == null) {
+            return null;
+        }
+        MediaType format = negotiate(accept);
+        String opaque = opaque(etag);
+        if (format == SMILE || format == CBOR) {
+            String suffix = format == SMILE ? "-smile" : "-cbor";
+            opaque = opaque.substring(0, opaque.length() - 1) + suffix + "\"";
+        }
+        return acceptsGzip(acceptEncoding) ? "W/" + opaque : opaque;
+    }
+
+    static boolean isNotModified(String ifNoneMatch, String ifModifiedSince, String etag, Long lastModified) {
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+        if (ifModifiedSince != null && lastModified != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant().toEpochMilli();
+                return lastModified / 1000 <= since / 1000;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, Long lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.build();
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        // If-None-Match uses the weak comparison
+        String expected = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = opaque(candidate.trim());
+            if (trimmed.equals("*") || trimmed.equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !isRefused(parts)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRefused(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestQuality = -1;
+        boolean bestExact = false;
+        for (MediaType format : FORMATS) {
+            for (MediaType candidate : acceptable) {
+                if (!candidate.includes(format) || candidate.getQualityValue() <= 0) {
+                    continue;
+                }
+                double quality = candidate.getQualityValue();
+                boolean exact = !candidate.isWildcardType() && !candidate.isWildcardSubtype();
+                if (quality > bestQuality || (quality == bestQuality && exact && !bestExact)) {
+                    best = format;
+                    bestQuality = quality;
+                    bestExact = exact;
+                }
+            }
+        }
+        return best;
+    }
+}
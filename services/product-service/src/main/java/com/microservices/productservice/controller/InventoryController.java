@@ -0,0 +1,43 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.dto.ReservationResponse;
+import com.microservices.productservice.dto.ReserveInventoryRequest;
+import com.microservices.productservice.service.InventoryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+@RequiredArgsConstructor
+public class InventoryController {
+    private final InventoryService inventoryService;
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReserveInventoryRequest request) {
+        ReservationResponse response = inventoryService.reserve(
+                request.getProductId(), request.getQuantity(), request.getHoldSeconds());
+        return ResponseEntity.status(response.isAccepted() ? HttpStatus.CREATED : HttpStatus.CONFLICT).body(response);
+    }
+
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable String reservationId) {
+        return ResponseEntity.ok(inventoryService.getReservation(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    public ResponseEntity<ReservationResponse> confirm(@PathVariable String reservationId) {
+        return toResponse(inventoryService.confirm(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/release")
+    public ResponseEntity<ReservationResponse> release(@PathVariable String reservationId) {
+        return toResponse(inventoryService.release(reservationId));
+    }
+
+    private ResponseEntity<ReservationResponse> toResponse(ReservationResponse response) {
+        return ResponseEntity.status(response.isAccepted() ? HttpStatus.OK : HttpStatus.CONFLICT).body(response);
+    }
+}
@@ -0,0 +1,35 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.util.PriceUnits;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.RoundingMode;
+
+/**
+ * Listing price bounds, read straight into minor units. A value that is not a plain decimal
+ * or does not fit in a long is the client's mistake and is answered with 400, as it was when
+ * the bounds were bound as BigDecimal.
+ */
+final class PriceBounds {
+
+    private PriceBounds() {
+    }
+
+    static long minPriceCents(String minPrice) {
+        // A fractional cent can only narrow the range
+        return parse("minPrice", minPrice, RoundingMode.CEILING);
+    }
+
+    static long maxPriceCents(String maxPrice) {
+        return parse("maxPrice", maxPrice, RoundingMode.FLOOR);
+    }
+
+    private static long parse(String name, String value, RoundingMode roundingMode) {
+        try {
+            return PriceUnits.parseMinorUnits(value, roundingMode);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name + ": " + value, e);
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.microservices.productservice.controller;
 
+import com.microservices.productservice.dto.BatchGetProductsRequest;
+import com.microservices.productservice.dto.BatchGetProductsResponse;
+import com.microservices.productservice.dto.CategoryCatalogResponse;
 import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductField;
 import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.dto.ProductSuggestResponse;
+import com.microservices.productservice.service.CategoryCatalogSnapshot;
+import com.microservices.productservice.service.ProductRevision;
 import com.microservices.productservice.service.ProductService;
+import com.microservices.productservice.service.SparseProduct;
+import com.microservices.productservice.service.TotalsMode;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -19,26 +29,126 @@ public class ProductController {
 
     @GetMapping
     public ResponseEntity<PagedProductResponse> getProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false, defaultValue = "0") String minPrice,
+            @RequestParam(required = false, defaultValue = "999999999") String maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotals,
+            @RequestParam(defaultValue = "false") boolean approximateTotals,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        TotalsMode totals = !includeTotals ? TotalsMode.NONE
+                : approximateTotals ? TotalsMode.APPROXIMATE : TotalsMode.EXACT;
+        Set<ProductField> selected = ProductField.parse(fields);
+        long minPriceCents = PriceBounds.minPriceCents(minPrice);
+        long maxPriceCents = PriceBounds.maxPriceCents(maxPrice);
+        String etag;
+        if (ifNoneMatch != null) {
+            etag = ConditionalRequests.variantEtag(productService.getListingEtag(
+                    category, minPriceCents, maxPriceCents, page, size, sort, cursor, totals, selected), accept, acceptEncoding);
+            if (ConditionalRequests.isNotModified(ifNoneMatch, null, etag, null)) {
+                return ConditionalRequests.notModified(etag, null);
+            }
+        } else {
+            // Unconditional requests get a tag only when the catalog version is cheap to produce
+            etag = ConditionalRequests.variantEtag(productService.peekListingEtag(
+                    category, minPriceCents, maxPriceCents, page, size, sort, cursor, totals, selected), accept, acceptEncoding);
+        }
+
+        PagedProductResponse response = productService.getProducts(
+                category, minPriceCents, maxPriceCents, page, size, sort, cursor, totals, selected);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(response);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PagedProductResponse> searchProducts(
+            @RequestParam String q,
             @RequestParam(required = false) String category,
             @RequestParam(required = false, defaultValue = "0") BigDecimal minPrice,
             @RequestParam(required = false, defaultValue = "999999999") BigDecimal maxPrice,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sort
+            @RequestParam(defaultValue = "10") int size
     ) {
-        PagedProductResponse response = productService.getProducts(category, minPrice, maxPrice, page, size, sort);
+        PagedProductResponse response = productService.searchProducts(q, category, minPrice, maxPrice, page, size);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<ProductSuggestResponse> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
+    }
+
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable String productId) {
-        ProductResponse response = productService.getProductById(productId);
+    public ResponseEntity<ProductResponse> getProductById(
+            @PathVariable String productId,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Set<ProductField> selected = ProductField.parse(fields);
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            ProductRevision revision = productService.getProductRevision(productId);
+            if (revision != null && selected != null) {
+                revision = revision.forFields(selected);
+            }
+            if (revision != null) {
+                String etag = ConditionalRequests.variantEtag(revision.etag(), accept, acceptEncoding);
+                if (ConditionalRequests.isNotModified(ifNoneMatch, ifModifiedSince, etag, revision.lastModified())) {
+                    return ConditionalRequests.notModified(etag, revision.lastModified());
+                }
+            }
+        }
+
+        ProductResponse response;
+        ProductRevision revision;
+        if (selected != null) {
+            SparseProduct sparse = productService.getProductById(productId, selected);
+            response = sparse.product();
+            revision = sparse.revision();
+        } else {
+            response = productService.getProductById(productId);
+            revision = ProductRevision.of(response);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(ConditionalRequests.variantEtag(revision.etag(), accept, acceptEncoding))
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (revision.lastModified() != null) {
+            builder.lastModified(revision.lastModified());
+        }
+        return builder.body(response);
+    }
+
+    @PostMapping("/batchGet")
+    public ResponseEntity<BatchGetProductsResponse> batchGetProducts(
+            @Valid @RequestBody BatchGetProductsRequest request) {
+        BatchGetProductsResponse response = productService.batchGetProducts(request.getProductIds());
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<Map<String, List<String>>> getCategories() {
-        List<String> categories = productService.getCategories();
-        return ResponseEntity.ok(Map.of("categories", categories));
+    public ResponseEntity<CategoryCatalogResponse> getCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CategoryCatalogSnapshot catalog = productService.getCategoryCatalog();
+        String etag = ConditionalRequests.variantEtag(catalog.getEtag(), accept, acceptEncoding);
+        if (ConditionalRequests.isNotModified(ifNoneMatch, null, etag, null)) {
+            return ConditionalRequests.notModified(etag, null);
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).body(catalog.getResponse());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.index.CatalogIndex;
+import com.microservices.productservice.repository.ReactiveProductQueries;
+import com.microservices.productservice.service.ProductCountService;
+import com.microservices.productservice.service.ProductResponseCache;
+import com.microservices.productservice.service.ProductRevision;
+import com.microservices.productservice.service.ProductService;
+import com.microservices.productservice.service.TotalsMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.servlet.function.support.RouterFunctionMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.springframework.web.servlet.function.RequestPredicates.GET;
+import static org.springframework.web.servlet.function.RouterFunctions.route;
+
+/**
+ * Reactive read path for listing and detail, active with the "reactive" profile. Spring MVC
+ * consults functional routes after annotated mappings by default; this profile moves them
+ * first, so these take over the same URLs while every other endpoint, including the in-memory
+ * category catalog, stays on ProductController. Requests using a cursor, approximate totals,
+ * sparse fields or a listing If-None-Match do not match these routes and fall through to
+ * ProductController, which implements them.
+ * Listing with Accept: application/x-ndjson streams every matching row with backpressure.
+ */
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductRoutes {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ReactiveProductQueries reactiveProductQueries;
+    private final ProductResponseCache productResponseCache;
+    private final ProductService productService;
+    private final ProductCountService productCountService;
+    private final CatalogIndex catalogIndex;
+
+    @Bean
+    static BeanPostProcessor reactiveRoutesFirst() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RouterFunctionMapping mapping) {
+                    mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveProductRouter() {
+        return route()
+                .GET("/api/v1/products", request -> request.headers().accept().contains(NDJSON),
+                        this::streamProducts)
+                .GET("/api/v1/products", ReactiveProductRoutes::isPlainListing, this::getProducts)
+                .GET("/api/v1/products/{productId:[0-9]+}", request -> request.param("fields").isEmpty(),
+                        this::getProductById)
+                .build();
+    }
+
+    private static boolean isPlainListing(ServerRequest request) {
+        return request.param("cursor").isEmpty()
+                && request.param("fields").isEmpty()
+                && !Boolean.parseBoolean(request.param("approximateTotals").orElse("false"))
+                && request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH) == null;
+    }
+
+    private ServerResponse streamProducts(ServerRequest request) {
+        Flux<ProductResponse> products = reactiveProductQueries
+                .findListing(category(request), minPriceCents(request), maxPriceCents(request), sort(request), 0, null)
+                .map(productService::mapToProductResponse);
+        return ServerResponse.ok()
+                .contentType(NDJSON)
+                .body(products);
+    }
+
+    private ServerResponse getProducts(ServerRequest request) {
+        String category = category(request);
+        long minPriceCents = minPriceCents(request);
+        long maxPriceCents = maxPriceCents(request);
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 10);
+        String sort = sort(request);
+        boolean includeTotals = Boolean.parseBoolean(request.param("includeTotals").orElse("true"));
+        String etag = ConditionalRequests.variantEtag(productService.peekListingEtag(category, minPriceCents,
+                maxPriceCents, page, size, sort, null, includeTotals ? TotalsMode.EXACT : TotalsMode.NONE, null),
+                request.headers().firstHeader(HttpHeaders.ACCEPT),
+                request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        // One extra row tells us whether another page exists without a count
+        Mono<List<ProductListingRow>> rows = reactiveProductQueries
+                .findListing(category, minPriceCents, maxPriceCents, sort, (long) page * size, size + 1)
+                .collectList();
+        Mono<Long> total = includeTotals ? totalItems(category, minPriceCents, maxPriceCents) : Mono.just(-1L);
+
+        Mono<ServerResponse> response = Mono.zip(rows, total).map(result -> {
+            List<ProductListingRow> content = result.getT1();
+            boolean hasNext = content.size() > size;
+            List<ProductResponse> items = (hasNext ? content.subList(0, size) : content).stream()
+                    .map(productService::mapToProductResponse)
+                    .toList();
+            PagedProductResponse.PagedProductResponseBuilder body = PagedProductResponse.builder()
+                    .items(items)
+                    .hasNext(hasNext);
+            long totalItems = result.getT2();
+            if (totalItems >= 0) {
+                body.totalItems(totalItems)
+                        .totalPages(size == 0 ? 1 : (int) Math.ceil((double) totalItems / size))
+                        .totalsApproximate(false);
+            }
+            ServerResponse.BodyBuilder builder = ServerResponse.ok().varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+            if (etag != null) {
+                builder.eTag(etag);
+            }
+            return builder.body(body.build());
+        });
+        return ServerResponse.async(response);
+    }
+
+    /**
+     * Counts from the catalog index or the shared count cache when either can answer, and
+     * only then with a query, whose result is cached for the controller as well.
+     */
+    private Mono<Long> totalItems(String category, long minPriceCents, long maxPriceCents) {
+        Long count = catalogIndex.count(category, minPriceCents, maxPriceCents);
+        if (count == null) {
+            count = productCountService.peekCount(category, minPriceCents, maxPriceCents);
+        }
+        if (count != null) {
+            return Mono.just(count);
+        }
+        long generation = productCountService.generation();
+        return reactiveProductQueries.countListing(category, minPriceCents, maxPriceCents)
+                .doOnNext(counted -> productCountService.putCount(category, minPriceCents, maxPriceCents, counted,
+                        generation));
+    }
+
+    private ServerResponse getProductById(ServerRequest request) {
+        String productId = request.pathVariable("productId");
+        String accept = request.headers().firstHeader(HttpHeaders.ACCEPT);
+        String acceptEncoding = request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = request.headers().firstHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        // Revalidation needs only the revision, so a match is answered without loading the row
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            ProductRevision revision = productService.getProductRevision(productId);
+            if (revision != null) {
+                String etag = ConditionalRequests.variantEtag(revision.etag(), accept, acceptEncoding);
+                if (ConditionalRequests.isNotModified(ifNoneMatch, ifModifiedSince, etag, revision.lastModified())) {
+                    return notModified(etag, revision);
+                }
+            }
+        }
+
+        Long id = productService.toProductId(productId);
+        Mono<ProductResponse> product = Mono.justOrEmpty(productResponseCache.getIfPresent(id))
+                .switchIfEmpty(Mono.defer(() -> {
+                    long generation = productResponseCache.generation(id);
+                    return reactiveProductQueries.findById(id)
+                            .map(productService::mapToProductResponse)
+                            .doOnNext(response -> productResponseCache.put(id, response, generation));
+                }));
+
+        Mono<ServerResponse> response = product
+                .map(body -> {
+                    ProductRevision revision = ProductRevision.of(body);
+                    String etag = ConditionalRequests.variantEtag(revision.etag(), accept, acceptEncoding);
+                    return withRevision(ServerResponse.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), revision)
+                            .body(body);
+                })
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Product not found")));
+        return ServerResponse.async(response);
+    }
+
+    private static ServerResponse notModified(String etag, ProductRevision revision) {
+        return withRevision(ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING),
+                revision).build();
+    }
+
+    private static ServerResponse.BodyBuilder withRevision(ServerResponse.BodyBuilder builder, ProductRevision revision) {
+        if (revision.lastModified() != null) {
+            builder.lastModified(Instant.ofEpochMilli(revision.lastModified()));
+        }
+        return builder;
+    }
+
+    private static String category(ServerRequest request) {
+        return request.param("category").orElse(null);
+    }
+
+    private static long minPriceCents(ServerRequest request) {
+        return PriceBounds.minPriceCents(request.param("minPrice").orElse("0"));
+    }
+
+    private static long maxPriceCents(ServerRequest request) {
+        return PriceBounds.maxPriceCents(request.param("maxPrice").orElse("999999999"));
+    }
+
+    private static String sort(ServerRequest request) {
+        return request.param("sort").orElse("name");
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.param(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+}
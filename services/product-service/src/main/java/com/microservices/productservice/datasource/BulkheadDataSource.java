@@ -0,0 +1,94 @@
+package com.microservices.productservice.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Takes a {@link ConnectionBulkhead} permit for every connection checked out of the target
+ * pool and returns it when the connection is closed. It sits below the
+ * {@code LazyConnectionDataSourceProxy}, so transactions that never run a statement take
+ * no permit. The bulkhead is looked up on first use because it depends on beans created
+ * after the DataSource.
+ */
+public final class BulkheadDataSource extends DelegatingDataSource {
+    private final Supplier<ConnectionBulkhead> bulkhead;
+
+    public BulkheadDataSource(DataSource target, Supplier<ConnectionBulkhead> bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger permit = acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(), permit);
+        } catch (SQLException | RuntimeException e) {
+            release(permit);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        AtomicInteger permit = acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException e) {
+            release(permit);
+            throw e;
+        }
+    }
+
+    private AtomicInteger acquire() throws SQLException {
+        try {
+            return bulkhead.get().acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a database bulkhead permit", e);
+        }
+    }
+
+    private void release(AtomicInteger permit) {
+        if (permit != null) {
+            bulkhead.get().release(permit);
+        }
+    }
+
+    private Connection guard(Connection connection, AtomicInteger permit) {
+        if (permit == null) {
+            return connection;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (closed.compareAndSet(false, true)) {
+                                release(permit);
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,81 @@
+package com.microservices.productservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps concurrent checkouts from the primary connection pool at the pool size. Excess
+ * callers wait on a fair semaphore, which is cheap for virtual threads, instead of queueing
+ * inside the pool and tripping its connection timeout. {@link BulkheadDataSource} takes a
+ * permit for every physical connection, so repository calls, JdbcTemplate work such as the
+ * import, order consumer and outbox relay, and count estimates all share one limit. A
+ * transaction takes its permit with its connection and releases it when the connection is
+ * closed; a thread already holding a permit never waits for another one.
+ */
+@Component
+@ConditionalOnProperty(name = "product.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionBulkhead {
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public ConnectionBulkhead(MeterRegistry meterRegistry,
+                              @Value("${product.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                              @Value("${product.bulkhead.max-wait:2s}") Duration maxWait) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.waitTimer = Timer.builder("product.db.bulkhead.wait")
+                .description("Time spent waiting for a database bulkhead permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("product.db.bulkhead.rejected")
+                .description("Connection checkouts that gave up waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("product.db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .register(meterRegistry);
+        Gauge.builder("product.db.bulkhead.queued", this.permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit for a connection about to be checked out and returns the token to
+     * {@link #release} it with, or null without taking one when this thread already holds
+     * a permit.
+     */
+    AtomicInteger acquire() throws InterruptedException {
+        AtomicInteger owner = held.get();
+        if (owner.get() > 0) {
+            return null;
+        }
+        long started = System.nanoTime();
+        boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new RuntimeException("Database is busy, try again later");
+        }
+        owner.incrementAndGet();
+        return owner;
+    }
+
+    /**
+     * Returns a permit taken by {@link #acquire}, from whichever thread closes the connection.
+     */
+    void release(AtomicInteger owner) {
+        owner.decrementAndGet();
+        permits.release();
+    }
+}
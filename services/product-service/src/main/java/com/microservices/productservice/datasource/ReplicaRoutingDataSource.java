@@ -0,0 +1,35 @@
+package com.microservices.productservice.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to a replica chosen by
+ * {@link ReplicaSelector} and everything else to the primary. The read-only flag is only
+ * known once the transaction has begun, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy} that defers the checkout to the first statement.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaSelector replicaSelector;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSelector replicaSelector) {
+        this.replicaSelector = replicaSelector;
+        Map<Object, Object> targets = new HashMap<>(replicaSelector.getReplicas());
+        targets.put(ReplicaSelector.PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? replicaSelector.select()
+                : ReplicaSelector.PRIMARY;
+    }
+}
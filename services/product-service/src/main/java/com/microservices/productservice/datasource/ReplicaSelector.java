@@ -0,0 +1,221 @@
+package com.microservices.productservice.datasource;
+
+import com.microservices.productservice.model.event.ProductEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Picks the replica for a read-only transaction: round-robin over replicas whose last
+ * health check succeeded and whose replication lag is within the staleness budget,
+ * falling back to the primary when none qualifies. A product write pins only the reads that
+ * depend on it: the listener reloads running on the thread that dispatches its event, and
+ * for a short window any read of that product made through {@link #readingProduct}. Reads
+ * of other products keep going to the replicas.
+ */
+@Slf4j
+public class ReplicaSelector {
+    public static final String PRIMARY = "primary";
+    /**
+     * Seconds since the last replayed transaction, or zero when the replica has replayed
+     * everything it received, so an idle primary does not make replicas look stale.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = " +
+            "pg_last_wal_replay_lsn() THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final Replica[] replicas;
+    private final Map<String, DataSource> dataSources;
+    private final String lagQuery;
+    private final double maxStalenessSeconds;
+    private final long pinAfterWriteNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter staleFallbacks;
+    private final Counter pinnedFallbacks;
+
+    private static final ThreadLocal<Long> readingProduct = new ThreadLocal<>();
+
+    private final ThreadLocal<Long> pinnedUntil = new ThreadLocal<>();
+    private final Map<Long, Long> writtenUntil = new ConcurrentHashMap<>();
+
+    public ReplicaSelector(Map<String, DataSource> replicas, String lagQuery, Duration maxStaleness,
+                           Duration pinAfterWrite, Duration checkTimeout, MeterRegistry meterRegistry) {
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.lagQuery = lagQuery;
+        this.maxStalenessSeconds = maxStaleness.toMillis() / 1000.0;
+        this.pinAfterWriteNanos = pinAfterWrite.toNanos();
+        this.replicas = new Replica[replicas.size()];
+
+        int i = 0;
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(entry.getValue());
+            jdbcTemplate.setQueryTimeout(Math.max(1, (int) checkTimeout.toSeconds()));
+            Replica replica = new Replica(entry.getKey(), jdbcTemplate,
+                    readsCounter(meterRegistry, entry.getKey()));
+            Gauge.builder("product.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("target", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("product.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("target", replica.name)
+                    .register(meterRegistry);
+            this.replicas[i++] = replica;
+        }
+        this.primaryReads = readsCounter(meterRegistry, PRIMARY);
+        this.staleFallbacks = fallbackCounter(meterRegistry, "stale");
+        this.pinnedFallbacks = fallbackCounter(meterRegistry, "pinned");
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return dataSources;
+    }
+
+    /**
+     * Lookup key for the next read-only transaction. Runs on every connection checkout, so
+     * it only reads the state the health check left behind.
+     */
+    public String select() {
+        if (isPinned()) {
+            pinnedFallbacks.increment();
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.length));
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(start + i) % replicas.length];
+            if (replica.healthy && replica.lagSeconds <= maxStalenessSeconds) {
+                replica.reads.increment();
+                return replica.name;
+            }
+        }
+        staleFallbacks.increment();
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Runs a read of one product, sending it to the primary if that product was written
+     * within the pin window.
+     */
+    public static <T> T readingProduct(Long productId, Supplier<T> read) {
+        Long previous = readingProduct.get();
+        readingProduct.set(productId);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                readingProduct.remove();
+            } else {
+                readingProduct.set(previous);
+            }
+        }
+    }
+
+    private boolean isPinned() {
+        long now = System.nanoTime();
+        Long threadPin = pinnedUntil.get();
+        if (threadPin != null && now - threadPin < 0) {
+            return true;
+        }
+        Long productId = readingProduct.get();
+        Long productPin = productId != null ? writtenUntil.get(productId) : null;
+        return productPin != null && now - productPin < 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${product.datasource.replicas.check-interval:PT1S}")
+    public void checkReplicas() {
+        long now = System.nanoTime();
+        writtenUntil.values().removeIf(until -> now - until >= 0);
+        for (Replica replica : replicas) {
+            try {
+                Double lag = replica.jdbcTemplate.queryForObject(lagQuery, Double.class);
+                replica.lagSeconds = lag != null ? lag : 0;
+                if (!replica.healthy) {
+                    log.info("Replica {} is available, lag {}s", replica.name, replica.lagSeconds);
+                }
+                replica.healthy = true;
+            } catch (Exception e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} failed its health check, routing around it", replica.name, e);
+                }
+                replica.healthy = false;
+            }
+        }
+    }
+
+    /**
+     * A product was just written, here or on another instance. The other listeners reload
+     * caches and indexes on this thread right after this, so their reads stay on the primary
+     * rather than caching the old row; later reads of the same product do too until replicas
+     * can be expected to have caught up.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductEvent(ProductEvent event) {
+        if (pinAfterWriteNanos <= 0) {
+            return;
+        }
+        long until = System.nanoTime() + pinAfterWriteNanos;
+        pinnedUntil.set(until);
+        if (event.getProductId() != null) {
+            writtenUntil.put(Long.valueOf(event.getProductId()), until);
+        }
+    }
+
+    /**
+     * Every other listener has handled the event, so this thread's reads go back to the
+     * replicas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void afterProductEvent(ProductEvent event) {
+        pinnedUntil.remove();
+    }
+
+    private static Counter readsCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("product.datasource.reads")
+                .description("Read-only transactions routed to each target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("product.datasource.fallback")
+                .description("Read-only transactions sent to the primary instead of a replica")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final JdbcTemplate jdbcTemplate;
+        private final Counter reads;
+        // Unknown until the first check succeeds
+        private volatile boolean healthy;
+        private volatile double lagSeconds;
+
+        private Replica(String name, JdbcTemplate jdbcTemplate, Counter reads) {
+            this.name = name;
+            this.jdbcTemplate = jdbcTemplate;
+            this.reads = reads;
+        }
+    }
+}
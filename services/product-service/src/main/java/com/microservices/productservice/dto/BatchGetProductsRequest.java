@@ -0,0 +1,20 @@
+package com.microservices.productservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetProductsRequest {
+    @NotEmpty(message = "At least one product id is required")
+    @Size(max = 500, message = "At most 500 product ids can be requested at once")
+    private List<String> productIds;
+}
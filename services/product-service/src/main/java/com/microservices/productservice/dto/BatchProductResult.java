@@ -0,0 +1,16 @@
+package com.microservices.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProductResult {
+    private String productId;
+    private boolean found;
+    private ProductResponse product;
+}
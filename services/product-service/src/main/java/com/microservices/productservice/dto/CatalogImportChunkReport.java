@@ -0,0 +1,23 @@
+package com.microservices.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportChunkReport {
+    private int chunk;
+    private long firstLine;
+    private int rows;
+    private int imported;
+    private int failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<CatalogImportError> errors;
+}
@@ -0,0 +1,22 @@
+package com.microservices.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportReport {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private int categoriesCreated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<CatalogImportChunkReport> chunks;
+}
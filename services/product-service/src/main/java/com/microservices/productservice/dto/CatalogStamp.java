@@ -0,0 +1,15 @@
+package com.microservices.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogStamp {
+    private long productCount;
+    private LocalDateTime lastUpdatedAt;
+}
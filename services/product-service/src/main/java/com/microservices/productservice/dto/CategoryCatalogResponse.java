@@ -0,0 +1,12 @@
+package com.microservices.productservice.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CategoryCatalogResponse {
+    List<CategorySummaryResponse> categories;
+}
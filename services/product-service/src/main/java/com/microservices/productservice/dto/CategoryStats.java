@@ -0,0 +1,18 @@
+package com.microservices.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStats {
+    private Long categoryId;
+    private String name;
+    private long productCount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
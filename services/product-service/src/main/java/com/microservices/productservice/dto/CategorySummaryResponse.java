@@ -0,0 +1,15 @@
+package com.microservices.productservice.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class CategorySummaryResponse {
+    String name;
+    long productCount;
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+}
@@ -1,5 +1,6 @@
 package com.microservices.productservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,8 +12,12 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedProductResponse {
     private List<ProductResponse> items;
-    private long totalItems;
-    private int totalPages;
+    private Long totalItems;
+    private Integer totalPages;
+    private Boolean totalsApproximate;
+    private Boolean hasNext;
+    private String nextCursor;
 }
\ No newline at end of file
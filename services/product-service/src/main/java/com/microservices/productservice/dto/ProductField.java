@@ -0,0 +1,76 @@
+package com.microservices.productservice.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A ProductResponse field a client can select with {@code ?fields=}, together with the
+ * listing-row attribute that backs it and the JPQL expression that reads it. Several fields
+ * may share one attribute; stockQuantity and isAvailable both come from inventoryCount.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductField {
+    PRODUCT_ID("productId", "id", "p.id"),
+    NAME("name", "name", "p.name"),
+    DESCRIPTION("description", "description", "p.description"),
+    PRICE("price", "price", "p.price"),
+    CATEGORY("category", "category", "c.name"),
+    STOCK_QUANTITY("stockQuantity", "inventoryCount", "p.inventoryCount"),
+    IMAGE_URL("imageUrl", "imageUrl",
+            "(SELECT MIN(i.url) FROM ProductImage i WHERE i.product = p AND i.isPrimary = true)"),
+    IS_AVAILABLE("isAvailable", "inventoryCount", "p.inventoryCount"),
+    CREATED_AT("createdAt", "createdAt", "p.createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt", "p.updatedAt");
+
+    private final String fieldName;
+    private final String attribute;
+    private final String expression;
+
+    /**
+     * Parses a comma-separated field list. Returns null when no list was given, meaning every
+     * field; the product id is always included so items stay addressable.
+     */
+    public static Set<ProductField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        EnumSet<ProductField> selected = EnumSet.of(PRODUCT_ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(forName(trimmed));
+            }
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * The field holding a sort property's value, needed to build the next-page cursor.
+     */
+    public static ProductField forSortProperty(String property) {
+        return switch (property) {
+            case "id" -> PRODUCT_ID;
+            case "name" -> NAME;
+            case "description" -> DESCRIPTION;
+            case "price" -> PRICE;
+            case "inventoryCount" -> STOCK_QUANTITY;
+            case "createdAt" -> CREATED_AT;
+            case "updatedAt" -> UPDATED_AT;
+            default -> throw new RuntimeException("Unsupported sort property: " + property);
+        };
+    }
+
+    private static ProductField forName(String name) {
+        for (ProductField field : values()) {
+            if (field.fieldName.equals(name)) {
+                return field;
+            }
+        }
+        throw new RuntimeException("Unknown field: " + name);
+    }
+}
@@ -0,0 +1,17 @@
+package com.microservices.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductIndexEntry {
+    private Long id;
+    private String name;
+    private String category;
+    private BigDecimal price;
+}
@@ -0,0 +1,22 @@
+package com.microservices.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.microservices.productservice.model.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationResponse {
+    private String reservationId;
+    private String productId;
+    private int quantity;
+    private ReservationStatus status;
+    private boolean accepted;
+    private Long expiresAt;
+}
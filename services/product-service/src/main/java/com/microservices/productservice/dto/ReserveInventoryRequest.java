@@ -0,0 +1,23 @@
+package com.microservices.productservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveInventoryRequest {
+    @NotBlank(message = "Product id is required")
+    private String productId;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity;
+
+    @Min(value = 1, message = "Hold must last at least one second")
+    private Long holdSeconds;
+}
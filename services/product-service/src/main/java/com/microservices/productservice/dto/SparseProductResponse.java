@@ -0,0 +1,23 @@
+package com.microservices.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A ProductResponse restricted to a {@code ?fields=} selection. Fields outside the selection
+ * are left out of the body; full responses keep writing every field, null or not.
+ */
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparseProductResponse extends ProductResponse {
+
+    public SparseProductResponse(ProductResponse selected) {
+        super(selected.getProductId(), selected.getName(), selected.getDescription(), selected.getPrice(),
+                selected.getCategory(), selected.getStockQuantity(), selected.getImageUrl(),
+                selected.getIsAvailable(), selected.getCreatedAt(), selected.getUpdatedAt());
+    }
+}
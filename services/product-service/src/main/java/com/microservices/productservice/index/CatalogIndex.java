@@ -0,0 +1,136 @@
+package com.microservices.productservice.index;
+
+import com.microservices.productservice.dto.ProductIndexEntry;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process filter index for category and price-range listings. Built at startup,
+ * kept current from product events and republished by a background refresh, so
+ * queries never wait on a rebuild. Events only queue the product's current entry; each
+ * refresh patches the published snapshot with the queued changes, and falls back to
+ * rebuilding it from the entry map when more products changed than
+ * {@code product.index.max-incremental-changes}.
+ */
+@Component
+@Slf4j
+public class CatalogIndex {
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final int maxIncrementalChanges;
+    // The entries behind the published snapshot; only touched by build and refresh
+    private final Map<Long, ProductIndexEntry> entries = new HashMap<>();
+    // Latest entry per changed product since the last refresh, empty once it is deleted
+    private final Map<Long, Optional<ProductIndexEntry>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    private volatile CatalogIndexSnapshot snapshot;
+
+    public CatalogIndex(ProductRepository productRepository,
+                        @Value("${product.index.enabled:true}") boolean enabled,
+                        @Value("${product.index.max-incremental-changes:1000}") int maxIncrementalChanges) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.maxIncrementalChanges = maxIncrementalChanges;
+    }
+
+    public CatalogIndexPage query(String category, long minPriceCents, long maxPriceCents,
+                                  String sort, long offset, int limit) {
+        CatalogIndexSnapshot current = snapshot;
+        if (!enabled || current == null) {
+            return null;
+        }
+        return current.query(category, minPriceCents, maxPriceCents, sort, offset, limit);
+    }
+
+    /**
+     * Exact match count for a listing in any sort order, or null while the index is
+     * disabled or not yet built.
+     */
+    public Long count(String category, long minPriceCents, long maxPriceCents) {
+        CatalogIndexSnapshot current = snapshot;
+        if (!enabled || current == null) {
+            return null;
+        }
+        return current.count(category, minPriceCents, maxPriceCents);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        entries.clear();
+        for (ProductIndexEntry entry : productRepository.findIndexEntries()) {
+            entries.put(entry.getId(), entry);
+        }
+        // Changes still queued are applied again by the next refresh, which is harmless
+        snapshot = CatalogIndexSnapshot.build(entries.values());
+        log.info("Built catalog index with {} products in {} ms",
+                snapshot.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${product.index.refresh-interval:PT1S}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        if (rebuildRequested.getAndSet(false)) {
+            build();
+            return;
+        }
+        if (pending.isEmpty() || snapshot == null) {
+            return;
+        }
+
+        List<ProductIndexEntry> removed = new ArrayList<>();
+        List<ProductIndexEntry> added = new ArrayList<>();
+        int changed = 0;
+        for (Long productId : pending.keySet()) {
+            changed++;
+            Optional<ProductIndexEntry> change = pending.remove(productId);
+            ProductIndexEntry previous = change.isPresent()
+                    ? entries.put(productId, change.get())
+                    : entries.remove(productId);
+            if (previous != null) {
+                removed.add(previous);
+            }
+            change.ifPresent(added::add);
+        }
+        if (changed > maxIncrementalChanges) {
+            snapshot = CatalogIndexSnapshot.build(entries.values());
+        } else {
+            snapshot = snapshot.apply(removed, added);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (!enabled || event.isInventoryOnly()) {
+            return;
+        }
+        if (event.getProductId() == null) {
+            // Bulk changes such as an import raise one of these per chunk; reload once per refresh
+            rebuildRequested.set(true);
+            return;
+        }
+        Long productId = Long.valueOf(event.getProductId());
+        pending.put(productId, productRepository.findIndexEntryById(productId));
+    }
+}
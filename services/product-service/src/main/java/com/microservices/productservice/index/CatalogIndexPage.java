@@ -0,0 +1,6 @@
+package com.microservices.productservice.index;
+
+import java.util.List;
+
+public record CatalogIndexPage(List<Long> productIds, long totalItems) {
+}
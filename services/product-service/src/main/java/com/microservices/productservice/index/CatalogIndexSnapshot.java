@@ -0,0 +1,236 @@
+package com.microservices.productservice.index;
+
+import com.microservices.productservice.dto.ProductIndexEntry;
+import com.microservices.productservice.util.PriceUnits;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index over the catalog. Products are laid out by ascending price, so a price
+ * range is a contiguous run of positions and each category is a compressed bitmap of
+ * positions. Filtering is a bitmap intersection and counts are exact cardinalities, for
+ * every sort. Only price-ordered pages are served from here. Name sorts, the listing
+ * default, are left to the database: its collation decides where a name cursor seeks, and
+ * a page ordered by Java's String order would not line up with the next one.
+ *
+ * A small batch of changes is applied with {@link #apply}, which merges the re-priced
+ * entries into a copy of the sorted arrays and patches the category bitmaps by shifting
+ * each unchanged run of positions, instead of sorting the whole catalog again.
+ */
+final class CatalogIndexSnapshot {
+    // Same order as the price_cents, id seek, so a price cursor continues where the page ended
+    private static final Comparator<ProductIndexEntry> PRICE_ORDER =
+            Comparator.comparingLong(CatalogIndexSnapshot::cents).thenComparing(ProductIndexEntry::getId);
+
+    private final long[] ids;
+    private final long[] prices;
+    private final Map<String, RoaringBitmap> categories;
+
+    private CatalogIndexSnapshot(long[] ids, long[] prices, Map<String, RoaringBitmap> categories) {
+        this.ids = ids;
+        this.prices = prices;
+        this.categories = categories;
+    }
+
+    static CatalogIndexSnapshot build(Collection<ProductIndexEntry> entries) {
+        ProductIndexEntry[] byPrice = entries.toArray(new ProductIndexEntry[0]);
+        Arrays.sort(byPrice, PRICE_ORDER);
+
+        long[] ids = new long[byPrice.length];
+        long[] cents = new long[byPrice.length];
+        Map<String, RoaringBitmap> categories = new HashMap<>();
+        for (int position = 0; position < byPrice.length; position++) {
+            ProductIndexEntry entry = byPrice[position];
+            ids[position] = entry.getId();
+            cents[position] = cents(entry);
+            if (entry.getCategory() != null) {
+                categories.computeIfAbsent(entry.getCategory(), key -> new RoaringBitmap()).add(position);
+            }
+        }
+        categories.values().forEach(RoaringBitmap::runOptimize);
+
+        return new CatalogIndexSnapshot(ids, cents, categories);
+    }
+
+    /**
+     * A new snapshot with the previously indexed versions of changed products removed and
+     * their current versions added. Unchanged products keep their relative order, so the
+     * arrays are copied run by run and each category bitmap is patched by moving the same
+     * runs, which costs a copy of the catalog rather than a sort.
+     */
+    CatalogIndexSnapshot apply(Collection<ProductIndexEntry> removed, Collection<ProductIndexEntry> added) {
+        int[] removedPositions = removed.stream()
+                .mapToInt(entry -> positionOf(cents(entry), entry.getId()))
+                .filter(position -> position >= 0)
+                .sorted()
+                .distinct()
+                .toArray();
+        ProductIndexEntry[] inserts = added.toArray(new ProductIndexEntry[0]);
+        Arrays.sort(inserts, PRICE_ORDER);
+
+        int size = ids.length - removedPositions.length + inserts.length;
+        long[] newIds = new long[size];
+        long[] newPrices = new long[size];
+        int[] insertPositions = new int[inserts.length];
+        // Unchanged runs of old positions as {start, end, shift}
+        List<int[]> runs = new ArrayList<>();
+        int from = 0;
+        int to = 0;
+        int r = 0;
+        int a = 0;
+        while (from < ids.length || a < inserts.length) {
+            int nextRemoved = r < removedPositions.length ? removedPositions[r] : ids.length;
+            int nextInsert = a < inserts.length ? insertionPoint(cents(inserts[a]), inserts[a].getId()) : ids.length;
+            int end = Math.min(nextRemoved, nextInsert);
+            if (end > from) {
+                System.arraycopy(ids, from, newIds, to, end - from);
+                System.arraycopy(prices, from, newPrices, to, end - from);
+                runs.add(new int[]{from, end, to - from});
+                to += end - from;
+                from = end;
+            } else if (a < inserts.length && nextInsert == from) {
+                newIds[to] = inserts[a].getId();
+                newPrices[to] = cents(inserts[a]);
+                insertPositions[a++] = to++;
+            } else {
+                from++;
+                r++;
+            }
+        }
+
+        Map<String, RoaringBitmap> newCategories = new HashMap<>();
+        categories.forEach((category, positions) -> {
+            RoaringBitmap patched = new RoaringBitmap();
+            for (int[] run : runs) {
+                if (positions.intersects(run[0], run[1])) {
+                    RoaringBitmap slice = RoaringBitmap.and(positions, RoaringBitmap.bitmapOfRange(run[0], run[1]));
+                    patched.or(run[2] == 0 ? slice : RoaringBitmap.addOffset(slice, run[2]));
+                }
+            }
+            if (!patched.isEmpty()) {
+                newCategories.put(category, patched);
+            }
+        });
+        for (int i = 0; i < inserts.length; i++) {
+            if (inserts[i].getCategory() != null) {
+                newCategories.computeIfAbsent(inserts[i].getCategory(), key -> new RoaringBitmap()).add(insertPositions[i]);
+            }
+        }
+        newCategories.values().forEach(RoaringBitmap::runOptimize);
+
+        return new CatalogIndexSnapshot(newIds, newPrices, newCategories);
+    }
+
+    private static long cents(ProductIndexEntry entry) {
+        return PriceUnits.toMinorUnits(entry.getPrice(), RoundingMode.HALF_UP);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Exact number of products matching the filter, whatever order they are listed in.
+     */
+    long count(String category, long minPriceCents, long maxPriceCents) {
+        int from = lowerBound(minPriceCents);
+        int to = Math.max(from, upperBound(maxPriceCents));
+        if (category == null) {
+            return to - from;
+        }
+        RoaringBitmap inCategory = categories.get(category);
+        return inCategory != null ? inCategory.rangeCardinality(from, to) : 0;
+    }
+
+    CatalogIndexPage query(String category, long minPriceCents, long maxPriceCents,
+                           String sort, long offset, int limit) {
+        boolean descending = sort.startsWith("-");
+        String property = descending ? sort.substring(1) : sort;
+        if (!property.equals("price")) {
+            return null;
+        }
+
+        RoaringBitmap matches = matches(category, minPriceCents, maxPriceCents);
+        long total = matches.getLongCardinality();
+        List<Long> page = new ArrayList<>(limit);
+        if (offset >= total) {
+            return new CatalogIndexPage(page, total);
+        }
+
+        long end = Math.min(total, offset + limit);
+        for (long rank = offset; rank < end; rank++) {
+            int select = (int) (descending ? total - 1 - rank : rank);
+            page.add(ids[matches.select(select)]);
+        }
+        return new CatalogIndexPage(page, total);
+    }
+
+    private RoaringBitmap matches(String category, long minPriceCents, long maxPriceCents) {
+        int from = lowerBound(minPriceCents);
+        int to = upperBound(maxPriceCents);
+        RoaringBitmap matches = RoaringBitmap.bitmapOfRange(from, Math.max(from, to));
+        if (category != null) {
+            RoaringBitmap inCategory = categories.get(category);
+            matches = inCategory != null ? RoaringBitmap.and(inCategory, matches) : new RoaringBitmap();
+        }
+        return matches;
+    }
+
+    private int positionOf(long cents, long id) {
+        int position = insertionPoint(cents, id);
+        return position < ids.length && ids[position] == id && prices[position] == cents ? position : -1;
+    }
+
+    /**
+     * First position whose price and id sort at or after the given ones.
+     */
+    private int insertionPoint(long cents, long id) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < cents || (prices[mid] == cents && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(long cents) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long cents) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
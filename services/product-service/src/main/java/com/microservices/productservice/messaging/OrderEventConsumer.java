@@ -0,0 +1,62 @@
+package com.microservices.productservice.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.model.event.OrderCreatedEvent;
+import com.microservices.productservice.model.event.OrderStatusChangedEvent;
+import com.microservices.productservice.service.OrderInventoryBatchResult;
+import com.microservices.productservice.service.OrderInventoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies order-service events to inventory. Unlike product events these are consumed by
+ * one shared group, so each order adjusts stock once across all instances. Offsets are
+ * committed only after the batch's database transaction, and a failed batch is redelivered
+ * whole; the idempotency table makes the replay harmless.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderEventConsumer {
+    private final ObjectMapper objectMapper;
+    private final OrderInventoryService orderInventoryService;
+    private final MeterRegistry meterRegistry;
+
+    @KafkaListener(
+            topics = {"${product.orders.created-topic:order.created}", "${product.orders.status-topic:order.status_changed}"},
+            groupId = "${product.orders.group-id:product-service-inventory}",
+            containerFactory = "orderEventsListenerContainerFactory",
+            properties = "auto.offset.reset=${product.orders.offset-reset:latest}"
+    )
+    public void onMessages(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        List<Object> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                Class<?> type = record.topic().endsWith("status_changed")
+                        ? OrderStatusChangedEvent.class
+                        : OrderCreatedEvent.class;
+                events.add(objectMapper.readValue(record.value(), type));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping malformed order event at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset(), e);
+            }
+        }
+
+        OrderInventoryBatchResult result = orderInventoryService.apply(events);
+        acknowledgment.acknowledge();
+
+        meterRegistry.counter("product.orders.events", "outcome", "applied").increment(result.applied());
+        meterRegistry.counter("product.orders.events", "outcome", "skipped").increment(result.skipped());
+        meterRegistry.counter("product.orders.allocations.rejected").increment(result.rejected());
+        meterRegistry.summary("product.orders.batch.size").record(records.size());
+    }
+}
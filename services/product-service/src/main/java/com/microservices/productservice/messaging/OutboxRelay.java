@@ -0,0 +1,143 @@
+package com.microservices.productservice.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains product_outbox to Kafka in id order. Each batch is sent keyed by product id, so
+ * every product's events land on one partition in commit order, and rows are deleted only
+ * once the broker has acknowledged them. On PostgreSQL a transaction-scoped advisory lock
+ * keeps a single instance draining at a time; two relays interleaving batches would break
+ * per-product ordering.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    private static final String SELECT_BATCH =
+            "SELECT id, aggregate_id, payload, created_at FROM product_outbox ORDER BY id LIMIT ?";
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final long RELAY_LOCK_KEY = 0x70726f647563744cL;
+    public static final String EVENT_ID_HEADER = "product-event-id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final boolean advisoryLocks;
+    private final Counter relayed;
+    private final Timer batchTimer;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${product.events.topic:product-events}") String topic,
+                       @Value("${product.outbox.batch-size:500}") int batchSize,
+                       @Value("${product.outbox.send-timeout:10s}") Duration sendTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.advisoryLocks = isPostgres(jdbcTemplate);
+        this.relayed = Counter.builder("product.outbox.relayed")
+                .description("Outbox events published to Kafka")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("product.outbox.relay.batch")
+                .description("Time to publish and clear one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("product.outbox.lag", oldestPendingMillis, lag -> lag.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the oldest event still waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${product.outbox.poll-interval:PT0.2S}")
+    public void relay() {
+        Integer sent;
+        do {
+            sent = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+        } while (sent != null && sent == batchSize);
+    }
+
+    private int relayBatch() {
+        if (advisoryLocks && !Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, RELAY_LOCK_KEY))) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>();
+        LocalDateTime[] oldest = new LocalDateTime[1];
+        jdbcTemplate.query(SELECT_BATCH, rs -> {
+            long id = rs.getLong("id");
+            if (oldest[0] == null) {
+                oldest[0] = rs.getTimestamp("created_at").toLocalDateTime();
+            }
+            ProducerRecord<String, String> record = new ProducerRecord<>(topic, rs.getString("aggregate_id"),
+                    rs.getString("payload"));
+            record.headers().add(EVENT_ID_HEADER, Long.toString(id).getBytes(StandardCharsets.UTF_8));
+            sends.add(kafkaTemplate.send(record));
+            ids.add(id);
+        }, batchSize);
+
+        oldestPendingMillis.set(oldest[0] == null ? 0
+                : Math.max(0, Duration.between(oldest[0], LocalDateTime.now()).toMillis()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while relaying outbox", e);
+        } catch (ExecutionException | TimeoutException e) {
+            // Rolls back; the whole batch is retried on the next poll
+            throw new RuntimeException("Could not relay outbox batch", e);
+        }
+
+        jdbcTemplate.batchUpdate("DELETE FROM product_outbox WHERE id = ?",
+                ids.stream().map(id -> new Object[]{id}).toList());
+        relayed.increment(ids.size());
+        return ids.size();
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not determine database product, outbox relay runs without a lock", e);
+            return false;
+        }
+    }
+}
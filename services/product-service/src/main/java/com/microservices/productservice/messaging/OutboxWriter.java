@@ -0,0 +1,42 @@
+package com.microservices.productservice.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.model.event.ProductEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Records every locally raised product event in product_outbox. The listener runs
+ * synchronously on the publishing thread, so the row joins the transaction that changed
+ * the product and exists if and only if that change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private static final String INSERT_OUTBOX =
+            "INSERT INTO product_outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onProductEvent(ProductEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize product event", e);
+        }
+        jdbcTemplate.update(INSERT_OUTBOX, event.getProductId(), event.getEventType(), payload,
+                Timestamp.valueOf(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now()));
+    }
+}
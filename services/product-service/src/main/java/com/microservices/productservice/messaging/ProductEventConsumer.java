@@ -0,0 +1,37 @@
+package com.microservices.productservice.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.model.event.ProductEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans product events out to every instance. Each instance consumes with its own group id
+ * and republishes the event locally, so in-process caches are invalidated everywhere.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductEventConsumer {
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @KafkaListener(
+            topics = "${product.events.topic:product-events}",
+            groupId = "product-service-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=${product.events.offset-reset:latest}"
+    )
+    public void onMessage(String message) {
+        try {
+            ProductEvent event = objectMapper.readValue(message, ProductEvent.class);
+            event.setRemote(true);
+            applicationEventPublisher.publishEvent(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed product event: {}", message, e);
+        }
+    }
+}
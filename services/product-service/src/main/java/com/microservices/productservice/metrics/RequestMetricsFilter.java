@@ -0,0 +1,70 @@
+package com.microservices.productservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records, per endpoint, the response payload size and how many SQL statements Hibernate
+ * issued while serving the request. Endpoints are tagged by their route pattern so the tag
+ * set stays bounded, and meters are cached per route so recording is a map lookup plus two
+ * histogram updates. Requests that go async, such as the catalog export and the reactive
+ * routes, are skipped because their body is still being written, and their statements run,
+ * after the filter returns. Statement counts are tagged by whether the request ran its own
+ * loads or joined one already in flight, so coalesced requests do not pull the per-request
+ * figure down.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final String UNMATCHED = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> statementCounts = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponseWrapper counting = new CountingResponseWrapper(response);
+        StatementCounter.start();
+        StatementCounter.Scope statements;
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            statements = StatementCounter.stop();
+        }
+        if (request.isAsyncStarted()) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String key = request.getMethod() + " " + (pattern != null ? pattern : UNMATCHED);
+        payloadSizes.computeIfAbsent(key, k -> DistributionSummary.builder("product.http.response.size")
+                        .description("Response body size before compression")
+                        .baseUnit("bytes")
+                        .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : UNMATCHED)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(counting.getCount());
+        String coalesced = String.valueOf(statements.coalesced());
+        statementCounts.computeIfAbsent(key + " " + coalesced, k -> DistributionSummary.builder("product.http.statements")
+                        .description("SQL statements Hibernate issued while serving the request")
+                        .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : UNMATCHED,
+                                "coalesced", coalesced)
+                        .serviceLevelObjectives(1, 2, 5, 10, 50)
+                        .register(meterRegistry))
+                .record(statements.statements());
+    }
+}
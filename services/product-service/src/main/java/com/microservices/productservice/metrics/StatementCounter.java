@@ -0,0 +1,61 @@
+package com.microservices.productservice.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is
+ * being served. Hibernate calls {@link #inspect} for every statement it prepares, so the
+ * work here is a thread-local lookup and an increment; statements outside a request scope
+ * are not counted. JdbcTemplate statements bypass Hibernate and are not included, and
+ * neither is work done on other threads, such as the outbox relay.
+ *
+ * A request that waited for another request's in-flight load instead of running its own
+ * is marked with {@link #markCoalesced}: its statements were counted on the request that
+ * ran the load, so it is recorded apart rather than as a request that needed no queries.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final long serialVersionUID = 1L;
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+        }
+        return sql;
+    }
+
+    /**
+     * Marks the current request as served by a load another request ran.
+     */
+    public static void markCoalesced() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.coalesced = true;
+        }
+    }
+
+    static void start() {
+        CURRENT.set(new Scope());
+    }
+
+    static Scope stop() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope != null ? scope : new Scope();
+    }
+
+    static final class Scope {
+        private int statements;
+        private boolean coalesced;
+
+        int statements() {
+            return statements;
+        }
+
+        boolean coalesced() {
+            return coalesced;
+        }
+    }
+}
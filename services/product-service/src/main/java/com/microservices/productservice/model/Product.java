@@ -4,8 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import javax.persistence.*;
+import com.microservices.productservice.util.PriceUnits;
+import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,7 +17,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "products")
+@EntityListeners(ProductEntityListener.class)
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_name_id", columnList = "name, id"),
+        @Index(name = "idx_products_price_cents_id", columnList = "price_cents, id"),
+        @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_products_category_id", columnList = "category_id")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +37,13 @@ public class Product {
     @Column(nullable = false)
     private BigDecimal price;
 
+    /**
+     * {@link #price} in minor units, kept in sync on every write. Range filters and price
+     * sorting use this column so they compare longs rather than numerics.
+     */
+    @Column(name = "price_cents", nullable = false)
+    private Long priceCents;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
@@ -45,14 +60,23 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Transient
+    private Long loadedCategoryId;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        syncPriceCents();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        syncPriceCents();
+    }
+
+    private void syncPriceCents() {
+        priceCents = price != null ? PriceUnits.toMinorUnits(price, RoundingMode.HALF_UP) : null;
     }
 }
\ No newline at end of file
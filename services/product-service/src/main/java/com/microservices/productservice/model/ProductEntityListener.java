@@ -0,0 +1,54 @@
+package com.microservices.productservice.model;
+
+import com.microservices.productservice.model.event.ProductEvent;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class ProductEntityListener {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostLoad
+    public void onLoaded(Product product) {
+        product.setLoadedCategoryId(categoryIdOf(product));
+    }
+
+    @PostPersist
+    public void onCreated(Product product) {
+        publish(product, "ProductCreated");
+    }
+
+    @PostUpdate
+    public void onUpdated(Product product) {
+        publish(product, "ProductUpdated");
+    }
+
+    @PostRemove
+    public void onDeleted(Product product) {
+        publish(product, "ProductDeleted");
+    }
+
+    private void publish(Product product, String eventType) {
+        ProductEvent event = ProductEvent.builder()
+                .productId(String.valueOf(product.getId()))
+                .categoryId(categoryIdOf(product))
+                .previousCategoryId(product.getLoadedCategoryId())
+                .timestamp(LocalDateTime.now())
+                .eventType(eventType)
+                .build();
+        applicationEventPublisher.publishEvent(event);
+        product.setLoadedCategoryId(categoryIdOf(product));
+    }
+
+    private Long categoryIdOf(Product product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
+    }
+}
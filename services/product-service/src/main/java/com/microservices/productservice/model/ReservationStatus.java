@@ -0,0 +1,8 @@
+package com.microservices.productservice.model;
+
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
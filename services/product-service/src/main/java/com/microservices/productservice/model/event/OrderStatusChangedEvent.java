@@ -0,0 +1,18 @@
+package com.microservices.productservice.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    public static final String CANCELLED = "CANCELLED";
+
+    private String orderId;
+    private String newStatus;
+    private String oldStatus;
+}
@@ -0,0 +1,34 @@
+package com.microservices.productservice.model.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductEvent {
+    public static final String INVENTORY_CHANGED = "ProductInventoryChanged";
+
+    private String productId;
+    private Long categoryId;
+    private Long previousCategoryId;
+    private LocalDateTime timestamp;
+    private String eventType;
+
+    @JsonIgnore
+    private boolean remote;
+
+    /**
+     * Only the stock level changed; listeners that do not serve inventory can skip it.
+     */
+    @JsonIgnore
+    public boolean isInventoryOnly() {
+        return INVENTORY_CHANGED.equals(eventType);
+    }
+}
@@ -0,0 +1,31 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.model.InventoryReservation;
+import com.microservices.productservice.model.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, String> {
+
+    /**
+     * Moves a reservation between states only if it is still in the expected one, so a
+     * confirm racing a release or the expiry sweep has exactly one winner.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InventoryReservation r SET r.status = :to, r.updatedAt = :now " +
+            "WHERE r.id = :reservationId AND r.status = :from")
+    int transition(String reservationId, ReservationStatus from, ReservationStatus to, LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InventoryReservation r SET r.status = :to, r.updatedAt = :now " +
+            "WHERE r.id = :reservationId AND r.status = :from AND r.expiresAt > :now")
+    int transitionIfUnexpired(String reservationId, ReservationStatus from, ReservationStatus to, LocalDateTime now);
+
+    @Query("SELECT r FROM InventoryReservation r WHERE r.status = :status AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<InventoryReservation> findExpiring(ReservationStatus status, LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,62 @@
+package com.microservices.productservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills price_cents for rows written before the column existed or by an instance that does
+ * not know about it yet. Listing filters, counts, seeks and price sorts read only price_cents,
+ * so a row left null would drop out of every price range. The backfill runs while the context
+ * starts, before the web server takes requests, in batches so no single statement locks the
+ * whole table.
+ *
+ * <p>The schema is not managed by the service. Roll the column out as nullable, let every
+ * instance start on this version, then add the NOT NULL constraint the entity declares:
+ * <pre>
+ * ALTER TABLE products ADD COLUMN price_cents BIGINT;
+ * -- deploy; each start runs this backfill. Once no old instance is left writing, catch
+ * -- the rows they wrote during the rollout and then enforce the constraint:
+ * UPDATE products SET price_cents = CAST(ROUND(price * 100) AS BIGINT) WHERE price_cents IS NULL;
+ * ALTER TABLE products ALTER COLUMN price_cents SET NOT NULL;
+ * </pre>
+ */
+@Slf4j
+@Component
+// Schema generation, where enabled, happens while the entity manager factory starts
+@DependsOn("entityManagerFactory")
+public class PriceCentsBackfill implements InitializingBean {
+    // Matches Product's HALF_UP conversion; ROUND on numeric rounds halves away from zero
+    static final String BACKFILL = "UPDATE products SET price_cents = CAST(ROUND(price * 100) AS BIGINT) " +
+            "WHERE id IN (SELECT id FROM products WHERE price_cents IS NULL LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public PriceCentsBackfill(JdbcTemplate jdbcTemplate,
+                              @Value("${product.price-cents.backfill-batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        backfill();
+    }
+
+    public long backfill() {
+        long total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(BACKFILL, batchSize);
+            total += updated;
+        } while (updated == batchSize);
+        if (total > 0) {
+            log.info("Backfilled price_cents on {} products", total);
+        }
+        return total;
+    }
+}
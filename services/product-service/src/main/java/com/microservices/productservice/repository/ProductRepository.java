@@ -1,30 +1,122 @@
 package com.microservices.productservice.repository;
 
+import com.microservices.productservice.dto.CatalogStamp;
+import com.microservices.productservice.dto.CategoryStats;
+import com.microservices.productservice.dto.ProductIndexEntry;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.dto.ProductSearchDocument;
 import com.microservices.productservice.model.Product;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.price BETWEEN :minPrice AND :maxPrice")
-    Page<Product> findByCategoryAndPriceRange(
-            Long categoryId,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    String LISTING_ROW = "SELECT new com.microservices.productservice.dto.ProductListingRow(" +
+            "p.id, p.name, p.description, p.price, c.name, p.inventoryCount, " +
+            "(SELECT MIN(i.url) FROM ProductImage i WHERE i.product = p AND i.isPrimary = true), " +
+            "p.createdAt, p.updatedAt) " +
+            "FROM Product p LEFT JOIN p.category c ";
+    String SEARCH_DOCUMENT = "SELECT new com.microservices.productservice.dto.ProductSearchDocument(" +
+            "p.id, p.name, p.description, c.name, p.price, p.updatedAt) " +
+            "FROM Product p LEFT JOIN p.category c ";
+
+    @Query(value = LISTING_ROW + "WHERE c.name = :category AND p.priceCents BETWEEN :minPriceCents AND :maxPriceCents")
+    Slice<ProductListingRow> findListingByCategoryAndPriceRange(
+            String category,
+            long minPriceCents,
+            long maxPriceCents,
             Pageable pageable
     );
 
-    @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
-    Page<Product> findByPriceRange(
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
+    @Query(value = LISTING_ROW + "WHERE p.priceCents BETWEEN :minPriceCents AND :maxPriceCents")
+    Slice<ProductListingRow> findListingByPriceRange(
+            long minPriceCents,
+            long maxPriceCents,
             Pageable pageable
     );
 
-    @Query("SELECT DISTINCT c FROM Category c")
-    List<Category> findAllCategories();
-}
\ No newline at end of file
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.category.name = :category " +
+            "AND p.priceCents BETWEEN :minPriceCents AND :maxPriceCents")
+    long countByCategoryAndPriceRange(
+            String category,
+            long minPriceCents,
+            long maxPriceCents
+    );
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.priceCents BETWEEN :minPriceCents AND :maxPriceCents")
+    long countByPriceRange(
+            long minPriceCents,
+            long maxPriceCents
+    );
+
+    /**
+     * Whole catalog in id order as unmanaged rows, read through a server-side cursor. Must
+     * be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(LISTING_ROW + "ORDER BY p.id")
+    Stream<ProductListingRow> streamListing();
+
+    @Query(LISTING_ROW + "WHERE p.id IN :productIds")
+    List<ProductListingRow> findListingByIdIn(Collection<Long> productIds);
+
+    @Query("SELECT new com.microservices.productservice.dto.ProductIndexEntry(p.id, p.name, c.name, p.price) " +
+            "FROM Product p LEFT JOIN p.category c")
+    List<ProductIndexEntry> findIndexEntries();
+
+    @Query("SELECT new com.microservices.productservice.dto.ProductIndexEntry(p.id, p.name, c.name, p.price) " +
+            "FROM Product p LEFT JOIN p.category c WHERE p.id = :productId")
+    Optional<ProductIndexEntry> findIndexEntryById(Long productId);
+
+    @Query(SEARCH_DOCUMENT)
+    List<ProductSearchDocument> findSearchDocuments();
+
+    @Query(SEARCH_DOCUMENT + "WHERE p.updatedAt > :updatedAt")
+    List<ProductSearchDocument> findSearchDocumentsUpdatedSince(LocalDateTime updatedAt);
+
+    @Query(SEARCH_DOCUMENT + "WHERE p.id IN :productIds")
+    List<ProductSearchDocument> findSearchDocumentsByIdIn(Collection<Long> productIds);
+
+    @Query("SELECT p.id FROM Product p")
+    List<Long> findAllIds();
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.images WHERE p.id IN :productIds")
+    List<Product> findAllWithCategoryByIdIn(Collection<Long> productIds);
+
+    @Query("SELECT p.updatedAt FROM Product p WHERE p.id = :productId")
+    Optional<LocalDateTime> findUpdatedAtById(Long productId);
+
+    @Query("SELECT new com.microservices.productservice.dto.CatalogStamp(COUNT(p), MAX(p.updatedAt)) FROM Product p")
+    CatalogStamp findCatalogStamp();
+
+    @Query("SELECT new com.microservices.productservice.dto.CategoryStats(c.id, c.name, COUNT(p), MIN(p.price), MAX(p.price)) " +
+            "FROM Category c LEFT JOIN c.products p GROUP BY c.id, c.name")
+    List<CategoryStats> findCategoryStats();
+
+    @Query("SELECT new com.microservices.productservice.dto.CategoryStats(c.id, c.name, COUNT(p), MIN(p.price), MAX(p.price)) " +
+            "FROM Category c LEFT JOIN c.products p WHERE c.id = :categoryId GROUP BY c.id, c.name")
+    Optional<CategoryStats> findCategoryStatsById(Long categoryId);
+
+    @Query("SELECT p.inventoryCount FROM Product p WHERE p.id = :productId")
+    Optional<Integer> findInventoryCountById(Long productId);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.inventoryCount = p.inventoryCount - :quantity, p.updatedAt = :now " +
+            "WHERE p.id = :productId AND p.inventoryCount >= :quantity")
+    int decrementInventory(Long productId, int quantity, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.inventoryCount = p.inventoryCount + :quantity, p.updatedAt = :now " +
+            "WHERE p.id = :productId")
+    int incrementInventory(Long productId, int quantity, LocalDateTime now);
+}
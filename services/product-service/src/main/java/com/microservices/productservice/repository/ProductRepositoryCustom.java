@@ -0,0 +1,50 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.dto.ProductField;
+import com.microservices.productservice.dto.ProductListingRow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+    List<ProductListingRow> findPageAfter(
+            String category,
+            long minPriceCents,
+            long maxPriceCents,
+            String sortProperty,
+            boolean descending,
+            Object lastKey,
+            Long lastId,
+            int limit
+    );
+
+    /**
+     * Same as {@link #findPageAfter(String, long, long, String, boolean, Object, Long, int)}
+     * but reads only the columns behind the given fields; null reads every column.
+     */
+    List<ProductListingRow> findPageAfter(
+            String category,
+            long minPriceCents,
+            long maxPriceCents,
+            String sortProperty,
+            boolean descending,
+            Object lastKey,
+            Long lastId,
+            int limit,
+            Set<ProductField> fields
+    );
+
+    List<ProductListingRow> findListingFields(
+            String category,
+            long minPriceCents,
+            long maxPriceCents,
+            String sortProperty,
+            boolean descending,
+            long offset,
+            int limit,
+            Set<ProductField> fields
+    );
+
+    List<ProductListingRow> findListingFieldsByIdIn(Collection<Long> productIds, Set<ProductField> fields);
+}
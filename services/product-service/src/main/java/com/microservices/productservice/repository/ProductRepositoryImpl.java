@@ -0,0 +1,166 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.dto.ProductField;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.util.PriceUnits;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+    private static final Set<String> SEEK_PROPERTIES = Set.of("name", "price", "createdAt");
+    private static final Set<String> SORT_PROPERTIES = Set.of(
+            "id", "name", "description", "price", "priceCents", "inventoryCount", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductListingRow> findPageAfter(String category, long minPriceCents, long maxPriceCents,
+                                       String sortProperty, boolean descending, Object lastKey,
+                                       Long lastId, int limit) {
+        return findPageAfter(category, minPriceCents, maxPriceCents, sortProperty, descending, lastKey, lastId, limit, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductListingRow> findPageAfter(String category, long minPriceCents, long maxPriceCents,
+                                       String sortProperty, boolean descending, Object lastKey,
+                                       Long lastId, int limit, Set<ProductField> fields) {
+        if (!SEEK_PROPERTIES.contains(sortProperty)) {
+            throw new IllegalArgumentException("Unsupported seek property: " + sortProperty);
+        }
+
+        String direction = descending ? "DESC" : "ASC";
+        String column = orderColumn(sortProperty);
+        StringBuilder jpql = new StringBuilder(fields == null ? ProductRepository.LISTING_ROW : select(fields, category))
+                .append("WHERE p.priceCents BETWEEN :minPriceCents AND :maxPriceCents");
+        if (category != null) {
+            jpql.append(" AND c.name = :category");
+        }
+        if (lastId != null) {
+            jpql.append(" AND (p.").append(column).append(", p.id) ")
+                    .append(descending ? "<" : ">")
+                    .append(" (:lastKey, :lastId)");
+        }
+        jpql.append(" ORDER BY p.").append(column).append(' ').append(direction)
+                .append(", p.id ").append(direction);
+
+        TypedQuery<?> query = fields == null
+                ? entityManager.createQuery(jpql.toString(), ProductListingRow.class)
+                : entityManager.createQuery(jpql.toString(), Tuple.class);
+        query.setParameter("minPriceCents", minPriceCents)
+                .setParameter("maxPriceCents", maxPriceCents)
+                .setMaxResults(limit);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (lastId != null) {
+            query.setParameter("lastKey", lastKey instanceof BigDecimal price
+                    ? PriceUnits.toMinorUnits(price, RoundingMode.HALF_UP)
+                    : lastKey);
+            query.setParameter("lastId", lastId);
+        }
+        List<?> results = query.getResultList();
+        return fields == null ? (List<ProductListingRow>) results : toRows((List<Tuple>) results);
+    }
+
+    @Override
+    public List<ProductListingRow> findListingFields(String category, long minPriceCents, long maxPriceCents,
+                                                     String sortProperty, boolean descending, long offset,
+                                                     int limit, Set<ProductField> fields) {
+        if (!SORT_PROPERTIES.contains(sortProperty)) {
+            throw new RuntimeException("Unsupported sort property: " + sortProperty);
+        }
+
+        String direction = descending ? "DESC" : "ASC";
+        StringBuilder jpql = new StringBuilder(select(fields, category))
+                .append("WHERE p.priceCents BETWEEN :minPriceCents AND :maxPriceCents");
+        if (category != null) {
+            jpql.append(" AND c.name = :category");
+        }
+        jpql.append(" ORDER BY p.").append(orderColumn(sortProperty)).append(' ').append(direction)
+                .append(", p.id ").append(direction);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("minPriceCents", minPriceCents)
+                .setParameter("maxPriceCents", maxPriceCents)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        return toRows(query.getResultList());
+    }
+
+    @Override
+    public List<ProductListingRow> findListingFieldsByIdIn(Collection<Long> productIds, Set<ProductField> fields) {
+        return toRows(entityManager.createQuery(select(fields, null) + "WHERE p.id IN :productIds", Tuple.class)
+                .setParameter("productIds", productIds)
+                .getResultList());
+    }
+
+    /**
+     * Price is ordered and compared on its minor-unit column, which carries the index.
+     */
+    private static String orderColumn(String sortProperty) {
+        return "price".equals(sortProperty) ? "priceCents" : sortProperty;
+    }
+
+    /**
+     * Builds a select list covering only the requested fields. The category join is added
+     * only when the category is selected or filtered on.
+     */
+    private static String select(Set<ProductField> fields, String category) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put(ProductField.PRODUCT_ID.getAttribute(), ProductField.PRODUCT_ID.getExpression());
+        for (ProductField field : fields) {
+            columns.putIfAbsent(field.getAttribute(), field.getExpression());
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        columns.forEach((attribute, expression) ->
+                jpql.append(expression).append(" AS ").append(attribute).append(", "));
+        jpql.setLength(jpql.length() - 2);
+        jpql.append(" FROM Product p ");
+        if (category != null || fields.contains(ProductField.CATEGORY)) {
+            jpql.append("LEFT JOIN p.category c ");
+        }
+        return jpql.toString();
+    }
+
+    private static List<ProductListingRow> toRows(List<Tuple> tuples) {
+        List<ProductListingRow> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            ProductListingRow row = new ProductListingRow();
+            tuple.getElements().forEach(element -> {
+                Object value = tuple.get(element);
+                switch (element.getAlias()) {
+                    case "id" -> row.setId((Long) value);
+                    case "name" -> row.setName((String) value);
+                    case "description" -> row.setDescription((String) value);
+                    case "price" -> row.setPrice((BigDecimal) value);
+                    case "category" -> row.setCategory((String) value);
+                    case "inventoryCount" -> row.setInventoryCount((Integer) value);
+                    case "imageUrl" -> row.setImageUrl((String) value);
+                    case "createdAt" -> row.setCreatedAt((LocalDateTime) value);
+                    case "updatedAt" -> row.setUpdatedAt((LocalDateTime) value);
+                    default -> throw new IllegalStateException("Unexpected column " + element.getAlias());
+                }
+            });
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,101 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.dto.ProductListingRow;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * R2DBC equivalents of the ProductRepository listing reads, for the reactive profile.
+ * Results are emitted as the driver produces them and fetched in bounded batches, so a
+ * slow subscriber slows the query instead of buffering rows. The SQL sticks to what both
+ * H2 and PostgreSQL accept.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveProductQueries {
+    private static final String LISTING_ROW = "SELECT p.id, p.name, p.description, p.price, c.name AS category, " +
+            "p.inventory_count, " +
+            "(SELECT MIN(i.url) FROM product_images i WHERE i.product_id = p.id AND i.is_primary = TRUE) AS image_url, " +
+            "p.created_at, p.updated_at " +
+            "FROM products p LEFT JOIN categories c ON c.id = p.category_id ";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "name", "p.name",
+            "price", "p.price_cents",
+            "createdAt", "p.created_at");
+    private static final int FETCH_SIZE = 256;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductQueries(DatabaseClient productDatabaseClient) {
+        this.databaseClient = productDatabaseClient;
+    }
+
+    public Flux<ProductListingRow> findListing(String category, long minPriceCents, long maxPriceCents,
+                                               String sort, long offset, Integer limit) {
+        StringBuilder sql = new StringBuilder(LISTING_ROW)
+                .append("WHERE p.price_cents BETWEEN :minPriceCents AND :maxPriceCents ");
+        if (category != null) {
+            sql.append("AND c.name = :category ");
+        }
+        String direction = sort.startsWith("-") ? "DESC" : "ASC";
+        String column = SORT_COLUMNS.get(sort.startsWith("-") ? sort.substring(1) : sort);
+        if (column == null) {
+            return Flux.error(new RuntimeException("Unsupported sort " + sort));
+        }
+        sql.append("ORDER BY ").append(column).append(' ').append(direction)
+                .append(", p.id ").append(direction);
+        if (limit != null) {
+            sql.append(" LIMIT ").append(limit).append(" OFFSET ").append(offset);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .bind("minPriceCents", minPriceCents)
+                .bind("maxPriceCents", maxPriceCents);
+        if (category != null) {
+            spec = spec.bind("category", category);
+        }
+        return spec.map(ReactiveProductQueries::toRow).all();
+    }
+
+    public Mono<Long> countListing(String category, long minPriceCents, long maxPriceCents) {
+        String sql = "SELECT COUNT(*) AS total FROM products p LEFT JOIN categories c ON c.id = p.category_id " +
+                "WHERE p.price_cents BETWEEN :minPriceCents AND :maxPriceCents" +
+                (category != null ? " AND c.name = :category" : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("minPriceCents", minPriceCents)
+                .bind("maxPriceCents", maxPriceCents);
+        if (category != null) {
+            spec = spec.bind("category", category);
+        }
+        return spec.map(row -> ((Number) row.get("total")).longValue()).one();
+    }
+
+    public Mono<ProductListingRow> findById(Long productId) {
+        return databaseClient.sql(LISTING_ROW + "WHERE p.id = :productId")
+                .bind("productId", productId)
+                .map(ReactiveProductQueries::toRow)
+                .one();
+    }
+
+    private static ProductListingRow toRow(Readable row) {
+        return new ProductListingRow(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("category", String.class),
+                row.get("inventory_count", Integer.class),
+                row.get("image_url", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+}
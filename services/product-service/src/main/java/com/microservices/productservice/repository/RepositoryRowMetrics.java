@@ -0,0 +1,54 @@
+package com.microservices.productservice.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many rows each ProductRepository method returns. Call latency is already
+ * timed by Spring Data's spring.data.repository.invocations metric; this adds result size,
+ * which is what separates a slow plan from a query that simply returns too much. Streams
+ * and scalar results are not counted.
+ */
+@Aspect
+@Component
+public class RepositoryRowMetrics {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+    public RepositoryRowMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("this(com.microservices.productservice.repository.ProductRepository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        long size;
+        if (result instanceof Collection<?> collection) {
+            size = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            size = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            size = optional.isPresent() ? 1 : 0;
+        } else {
+            return result;
+        }
+        String method = joinPoint.getSignature().getName();
+        rows.computeIfAbsent(method, name -> DistributionSummary.builder("product.repository.rows")
+                        .description("Rows returned by a ProductRepository method")
+                        .tag("method", name)
+                        .serviceLevelObjectives(1, 10, 20, 50, 100, 500, 1000)
+                        .register(meterRegistry))
+                .record(size);
+        return result;
+    }
+}
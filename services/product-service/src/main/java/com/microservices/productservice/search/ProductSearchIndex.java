@@ -0,0 +1,329 @@
+package com.microservices.productservice.search;
+
+import com.microservices.productservice.dto.ProductSearchDocument;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.util.PriceUnits;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded Lucene index over product name, description and category, ranked with BM25.
+ * The index lives on local disk and records the newest updatedAt it has seen in its
+ * commit data, so a restart only re-reads products changed since the last commit and
+ * reconciles ids to drop products deleted in the meantime. Product events only queue the
+ * changed ids; a scheduled refresh reads and indexes them, so writers never wait on Lucene.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String CATEGORY_EXACT = "categoryExact";
+    private static final String PRICE = "price";
+    private static final String LAST_UPDATED_AT = "lastUpdatedAt";
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(NAME, 3.0f, CATEGORY, 2.0f, DESCRIPTION, 1.0f);
+
+    private final ProductRepository productRepository;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingChanges = new AtomicBoolean();
+    private final AtomicBoolean catchUpRequested = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile LocalDateTime lastUpdatedAt;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${product.search.index-dir:data/search-index}") Path indexDir) throws IOException {
+        this.productRepository = productRepository;
+        this.directory = FSDirectory.open(indexDir);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setSimilarity(new BM25Similarity())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+
+        String committed = readCommitData(writer);
+        this.lastUpdatedAt = committed != null ? LocalDateTime.parse(committed) : null;
+    }
+
+    public ProductSearchPage search(String text, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                    int offset, int limit) {
+        if (offset < 0 || limit < 1 || offset > Integer.MAX_VALUE - limit) {
+            throw new RuntimeException("Invalid search window");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+        if (textQuery == null) {
+            return new ProductSearchPage(List.of(), 0);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(LongPoint.newRangeQuery(PRICE,
+                        PriceUnits.toMinorUnits(minPrice, RoundingMode.CEILING),
+                        PriceUnits.toMinorUnits(maxPrice, RoundingMode.FLOOR)), BooleanClause.Occur.FILTER);
+        if (category != null) {
+            query.add(new TermQuery(new Term(CATEGORY_EXACT, category)), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            searcher.setSimilarity(new BM25Similarity());
+            TopDocs topDocs = searcher.search(query.build(), offset + limit);
+            List<Long> productIds = new ArrayList<>(limit);
+            for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                productIds.add(searcher.storedFields().document(scoreDoc.doc).getField(ID).numericValue().longValue());
+            }
+            return new ProductSearchPage(productIds, topDocs.totalHits.value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void synchronize() throws IOException {
+        lock.lock();
+        try {
+            catchUp();
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void catchUp() throws IOException {
+        if (lastUpdatedAt == null) {
+            log.info("Rebuilding product search index");
+            writer.deleteAll();
+            index(productRepository.findSearchDocuments());
+        } else {
+            // updatedAt only covers rows that still exist; deletes and inserts made while this
+            // node was down are found by reconciling the indexed ids against the table
+            Set<Long> productIds = new HashSet<>(productRepository.findAllIds());
+            Set<Long> indexedIds = indexedIds();
+            int removed = 0;
+            for (Long indexedId : indexedIds) {
+                if (!productIds.contains(indexedId)) {
+                    removed++;
+                    writer.deleteDocuments(new Term(ID, String.valueOf(indexedId)));
+                }
+            }
+            productIds.removeAll(indexedIds);
+
+            List<ProductSearchDocument> changed =
+                    new ArrayList<>(productRepository.findSearchDocumentsUpdatedSince(lastUpdatedAt));
+            if (!productIds.isEmpty()) {
+                changed.addAll(productRepository.findSearchDocumentsByIdIn(productIds));
+            }
+            log.info("Catching up product search index with {} changed and {} removed products",
+                    changed.size(), removed);
+            index(changed);
+        }
+    }
+
+    /**
+     * Runs on the committing thread, so it only records what changed for the next refresh.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (event.isInventoryOnly()) {
+            return;
+        }
+        if (event.getProductId() == null) {
+            // Bulk changes such as an import raise one of these per chunk; catch up once per refresh
+            catchUpRequested.set(true);
+        } else {
+            dirtyIds.add(Long.valueOf(event.getProductId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.search.refresh-interval:PT1S}")
+    public void refresh() throws IOException {
+        lock.lock();
+        try {
+            applyQueuedChanges();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.search.commit-interval:PT5S}")
+    public void commit() throws IOException {
+        lock.lock();
+        try {
+            applyQueuedChanges();
+            if (!pendingChanges.getAndSet(false) && !writer.hasUncommittedChanges()) {
+                return;
+            }
+            if (lastUpdatedAt != null) {
+                writer.setLiveCommitData(Map.of(LAST_UPDATED_AT, lastUpdatedAt.toString()).entrySet());
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            commit();
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyQueuedChanges() throws IOException {
+        if (catchUpRequested.getAndSet(false)) {
+            catchUp();
+        }
+        if (dirtyIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> productIds = new HashSet<>();
+        for (Iterator<Long> it = dirtyIds.iterator(); it.hasNext(); ) {
+            productIds.add(it.next());
+            it.remove();
+        }
+        List<ProductSearchDocument> documents = productRepository.findSearchDocumentsByIdIn(productIds);
+        for (ProductSearchDocument document : documents) {
+            productIds.remove(document.getId());
+        }
+        for (Long deletedId : productIds) {
+            writer.deleteDocuments(new Term(ID, String.valueOf(deletedId)));
+        }
+        index(documents);
+    }
+
+    private void index(List<ProductSearchDocument> documents) throws IOException {
+        for (ProductSearchDocument product : documents) {
+            writer.updateDocument(new Term(ID, String.valueOf(product.getId())), toDocument(product));
+            if (product.getUpdatedAt() != null
+                    && (lastUpdatedAt == null || product.getUpdatedAt().isAfter(lastUpdatedAt))) {
+                lastUpdatedAt = product.getUpdatedAt();
+            }
+        }
+        pendingChanges.set(true);
+        searcherManager.maybeRefresh();
+    }
+
+    private Document toDocument(ProductSearchDocument product) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(product.getId()), Field.Store.NO));
+        document.add(new StoredField(ID, product.getId()));
+        document.add(new TextField(NAME, product.getName(), Field.Store.NO));
+        if (product.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        if (product.getCategory() != null) {
+            document.add(new TextField(CATEGORY, product.getCategory(), Field.Store.NO));
+            document.add(new StringField(CATEGORY_EXACT, product.getCategory(), Field.Store.NO));
+        }
+        document.add(new LongPoint(PRICE, PriceUnits.toMinorUnits(product.getPrice(), RoundingMode.HALF_UP)));
+        return document;
+    }
+
+    private Set<Long> indexedIds() throws IOException {
+        Set<Long> ids = new HashSet<>();
+        try (DirectoryReader reader = DirectoryReader.open(writer)) {
+            for (LeafReaderContext leaf : reader.leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                StoredFields storedFields = leaf.reader().storedFields();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        ids.add(storedFields.document(doc, Set.of(ID)).getField(ID).numericValue().longValue());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String readCommitData(IndexWriter writer) {
+        if (writer.getLiveCommitData() == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (LAST_UPDATED_AT.equals(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release product searcher", e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.microservices.productservice.search;
+
+import java.util.List;
+
+public record ProductSearchPage(List<Long> productIds, long totalHits) {
+}
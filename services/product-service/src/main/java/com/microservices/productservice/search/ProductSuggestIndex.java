@@ -0,0 +1,169 @@
+package com.microservices.productservice.search;
+
+import com.microservices.productservice.dto.ProductIndexEntry;
+import com.microservices.productservice.dto.ProductSuggestion;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup;
+import org.apache.lucene.search.suggest.fst.WFSTCompletionLookup;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable weighted FST over product and category names. Every word start of a name is
+ * a key, so "mou" finds "Wireless Mouse"; the key carries the display text after a
+ * separator, so a lookup never needs a second structure to resolve what it matched.
+ */
+class ProductSuggestIndex {
+    static final String PRODUCT = "product";
+    static final String CATEGORY = "category";
+
+    private static final char SEPARATOR = '\u001f';
+    private static final char PRODUCT_MARKER = 'p';
+    private static final char CATEGORY_MARKER = 'c';
+
+    private final WFSTCompletionLookup lookup;
+    private final long keyCount;
+
+    private ProductSuggestIndex(WFSTCompletionLookup lookup, long keyCount) {
+        this.lookup = lookup;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * Weights are catalog frequencies: a category weighs as many products as it holds and
+     * a product name as many listings as share it.
+     */
+    static ProductSuggestIndex build(Collection<ProductIndexEntry> entries) {
+        Map<String, Long> weights = new HashMap<>();
+        for (ProductIndexEntry entry : entries) {
+            weights.merge(PRODUCT_MARKER + entry.getName(), 1L, Long::sum);
+            if (entry.getCategory() != null) {
+                weights.merge(CATEGORY_MARKER + entry.getCategory(), 1L, Long::sum);
+            }
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<Long> keyWeights = new ArrayList<>();
+        for (Map.Entry<String, Long> term : weights.entrySet()) {
+            String display = term.getKey();
+            String normalized = normalize(display.substring(1));
+            for (int start = 0; start < normalized.length(); start++) {
+                if (start == 0 || normalized.charAt(start - 1) == ' ') {
+                    keys.add(normalized.substring(start) + SEPARATOR + display);
+                    keyWeights.add(term.getValue());
+                }
+            }
+        }
+
+        try {
+            WFSTCompletionLookup lookup = new WFSTCompletionLookup(new ByteBuffersDirectory(), "suggest");
+            lookup.build(new WeightedKeys(keys, keyWeights));
+            return new ProductSuggestIndex(lookup, keys.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    List<ProductSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || keyCount == 0) {
+            return List.of();
+        }
+
+        // A name reached through several of its words comes back once per word; over-fetch
+        // and collapse so the caller still gets up to limit distinct names.
+        List<Lookup.LookupResult> results;
+        try {
+            results = lookup.lookup(normalized, false, limit * 3);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        List<ProductSuggestion> suggestions = new ArrayList<>(limit);
+        for (Lookup.LookupResult result : results) {
+            String key = result.key.toString();
+            String display = key.substring(key.indexOf(SEPARATOR) + 1);
+            if (!seen.add(display)) {
+                continue;
+            }
+            suggestions.add(ProductSuggestion.builder()
+                    .text(display.substring(1))
+                    .type(display.charAt(0) == CATEGORY_MARKER ? CATEGORY : PRODUCT)
+                    .weight(result.value)
+                    .build());
+            if (suggestions.size() == limit) {
+                break;
+            }
+        }
+        return suggestions;
+    }
+
+    long ramBytesUsed() {
+        return lookup.ramBytesUsed();
+    }
+
+    long keyCount() {
+        return keyCount;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static final class WeightedKeys implements InputIterator {
+        private final Iterator<String> keys;
+        private final Iterator<Long> weights;
+        private long weight;
+
+        private WeightedKeys(List<String> keys, List<Long> weights) {
+            this.keys = keys.iterator();
+            this.weights = weights.iterator();
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!keys.hasNext()) {
+                return null;
+            }
+            weight = weights.next();
+            return new BytesRef(keys.next());
+        }
+
+        @Override
+        public long weight() {
+            return weight;
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservices.productservice.search;
+
+import com.microservices.productservice.dto.ProductSuggestion;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Typeahead over product and category names. Lookups only read the current in-memory
+ * snapshot; product events mark it stale and a background task rebuilds it, so the
+ * database is never on the keystroke path.
+ */
+@Component
+@Slf4j
+public class ProductSuggester {
+    private final ProductRepository productRepository;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicReference<ProductSuggestIndex> index = new AtomicReference<>();
+
+    public ProductSuggester(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        Gauge.builder("product.suggest.memory", index, current -> current.get() == null ? 0 : current.get().ramBytesUsed())
+                .baseUnit("bytes")
+                .description("Heap held by the typeahead FST")
+                .register(meterRegistry);
+        Gauge.builder("product.suggest.keys", index, current -> current.get() == null ? 0 : current.get().keyCount())
+                .description("Keys in the typeahead FST")
+                .register(meterRegistry);
+    }
+
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        ProductSuggestIndex current = index.get();
+        if (current == null || prefix == null) {
+            return List.of();
+        }
+        return current.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        long started = System.nanoTime();
+        dirty.set(false);
+        ProductSuggestIndex built = ProductSuggestIndex.build(productRepository.findIndexEntries());
+        index.set(built);
+        log.info("Built typeahead index with {} keys ({} bytes) in {} ms",
+                built.keyCount(), built.ramBytesUsed(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${product.suggest.rebuild-interval:PT30S}")
+    public void refresh() {
+        if (dirty.get()) {
+            build();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (!event.isInventoryOnly()) {
+            dirty.set(true);
+        }
+    }
+}
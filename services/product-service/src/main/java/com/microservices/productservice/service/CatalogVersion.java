@@ -0,0 +1,92 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.CatalogStamp;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Version of the whole product table, derived from the row count and the latest
+ * updatedAt so every instance computes the same value. The aggregate is read once and
+ * then served from memory until a product event invalidates it. Callers that find it
+ * invalidated share one read through {@link SingleFlight}, so a burst of revalidations
+ * after an event costs one aggregate rather than one per request.
+ */
+@Component
+public class CatalogVersion {
+    private final ProductRepository productRepository;
+    private final SingleFlight singleFlight;
+    private final long minReadIntervalNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Versioned> current = new AtomicReference<>();
+    private final AtomicLong lastReadNanos;
+
+    public CatalogVersion(ProductRepository productRepository, SingleFlight singleFlight,
+                          @Value("${product.catalog-version.min-read-interval:1s}") Duration minReadInterval) {
+        this.productRepository = productRepository;
+        this.singleFlight = singleFlight;
+        this.minReadIntervalNanos = minReadInterval.toNanos();
+        this.lastReadNanos = new AtomicLong(System.nanoTime() - minReadIntervalNanos);
+    }
+
+    public String get() {
+        Versioned cached = current.get();
+        long expectedGeneration = generation.get();
+        if (cached != null && cached.generation() == expectedGeneration) {
+            return cached.version();
+        }
+        return singleFlight.execute(new ReadKey(expectedGeneration), () -> read(expectedGeneration));
+    }
+
+    private String read(long expectedGeneration) {
+        // A read for a later generation may have finished while this one waited its turn
+        Versioned latest = current.get();
+        if (latest != null && latest.generation() >= expectedGeneration) {
+            return latest.version();
+        }
+        lastReadNanos.set(System.nanoTime());
+        CatalogStamp stamp = productRepository.findCatalogStamp();
+        String version = stamp.getProductCount() + "-" + (stamp.getLastUpdatedAt() != null ? stamp.getLastUpdatedAt() : "");
+        Versioned read = new Versioned(expectedGeneration, version);
+        current.accumulateAndGet(read, (previous, next) ->
+                previous == null || next.generation() >= previous.generation() ? next : previous);
+        return version;
+    }
+
+    /**
+     * The version if it has been read since the last product event. Otherwise it is read
+     * again only when the last read is older than the minimum interval, and only by one
+     * caller; everyone else gets null. Inventory updates from orders invalidate the version
+     * many times a second, and re-aggregating the table for every listing would double its cost.
+     */
+    public String getIfCheap() {
+        Versioned cached = current.get();
+        if (cached != null && cached.generation() == generation.get()) {
+            return cached.version();
+        }
+        long last = lastReadNanos.get();
+        long now = System.nanoTime();
+        if (now - last < minReadIntervalNanos || !lastReadNanos.compareAndSet(last, now)) {
+            return null;
+        }
+        return get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private record Versioned(long generation, String version) {
+    }
+
+    private record ReadKey(long generation) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.CategoryStats;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned in-memory view of the category list with per-category product
+ * counts and price bounds. Readers never touch the database; product events only mark
+ * their categories dirty, and a background refresh recomputes just those categories.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryCatalog {
+    private final ProductRepository productRepository;
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final AtomicReference<CategoryCatalogSnapshot> snapshot =
+            new AtomicReference<>(CategoryCatalogSnapshot.of(0, Map.of()));
+
+    public CategoryCatalogSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${product.categories.rebuild-interval:PT5M}",
+            initialDelayString = "${product.categories.rebuild-interval:PT5M}")
+    public void rebuild() {
+        rebuildRequested.set(false);
+        Map<Long, CategoryStats> statsById = productRepository.findCategoryStats().stream()
+                .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+        CategoryCatalogSnapshot published = publish(current -> statsById);
+        log.info("Rebuilt category catalog: {} categories, version {}", statsById.size(), published.getVersion());
+    }
+
+    @Scheduled(fixedDelayString = "${product.categories.refresh-interval:PT1S}")
+    public void refresh() {
+        if (rebuildRequested.get()) {
+            // A rebuild reads every category, so whatever was marked dirty meanwhile is covered
+            dirtyCategories.clear();
+            rebuild();
+            return;
+        }
+        if (dirtyCategories.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Optional<CategoryStats>> changed = new HashMap<>();
+        for (Iterator<Long> it = dirtyCategories.iterator(); it.hasNext(); ) {
+            Long categoryId = it.next();
+            it.remove();
+            changed.put(categoryId, productRepository.findCategoryStatsById(categoryId));
+        }
+        publish(current -> {
+            Map<Long, CategoryStats> statsById = new HashMap<>(current.getStatsById());
+            changed.forEach((categoryId, stats) -> stats.ifPresentOrElse(
+                    value -> statsById.put(categoryId, value), () -> statsById.remove(categoryId)));
+            return statsById;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (event.getCategoryId() == null && event.getPreviousCategoryId() == null) {
+            if (event.getProductId() == null) {
+                // Bulk changes such as an import raise one of these per chunk; rebuild once per refresh
+                rebuildRequested.set(true);
+            }
+            return;
+        }
+        if (event.getCategoryId() != null) {
+            dirtyCategories.add(event.getCategoryId());
+        }
+        if (event.getPreviousCategoryId() != null) {
+            dirtyCategories.add(event.getPreviousCategoryId());
+        }
+    }
+
+    private CategoryCatalogSnapshot publish(Function<CategoryCatalogSnapshot, Map<Long, CategoryStats>> update) {
+        while (true) {
+            CategoryCatalogSnapshot current = snapshot.get();
+            CategoryCatalogSnapshot next = CategoryCatalogSnapshot.of(current.getVersion() + 1, update.apply(current));
+            if (next.getEtag().equals(current.getEtag()) && current.getVersion() != 0) {
+                return current;
+            }
+            if (snapshot.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+}
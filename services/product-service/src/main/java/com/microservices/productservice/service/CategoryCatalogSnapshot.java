@@ -0,0 +1,48 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.CategoryCatalogResponse;
+import com.microservices.productservice.dto.CategoryStats;
+import com.microservices.productservice.dto.CategorySummaryResponse;
+import lombok.Value;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class CategoryCatalogSnapshot {
+    long version;
+    Map<Long, CategoryStats> statsById;
+    CategoryCatalogResponse response;
+    String etag;
+
+    public static CategoryCatalogSnapshot of(long version, Map<Long, CategoryStats> statsById) {
+        List<CategorySummaryResponse> categories = statsById.values().stream()
+                .sorted(Comparator.comparing(CategoryStats::getName).thenComparing(CategoryStats::getCategoryId))
+                .map(stats -> CategorySummaryResponse.builder()
+                        .name(stats.getName())
+                        .productCount(stats.getProductCount())
+                        .minPrice(stats.getMinPrice())
+                        .maxPrice(stats.getMaxPrice())
+                        .build())
+                .toList();
+
+        StringBuilder content = new StringBuilder();
+        for (CategorySummaryResponse category : categories) {
+            content.append(category.getName()).append('\u0000')
+                    .append(category.getProductCount()).append('\u0000')
+                    .append(category.getMinPrice()).append('\u0000')
+                    .append(category.getMaxPrice()).append('\n');
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        // The body is exactly what the ETag hashes; the version counts local rebuilds only and
+        // would differ between instances serving the same catalog
+        CategoryCatalogResponse response = CategoryCatalogResponse.builder()
+                .categories(categories)
+                .build();
+        return new CategoryCatalogSnapshot(version, Map.copyOf(statsById), response, etag);
+    }
+}
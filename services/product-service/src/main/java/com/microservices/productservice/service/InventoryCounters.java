@@ -0,0 +1,92 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.model.event.ProductEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+/**
+ * Per-SKU admission counters for reservations. Each SKU has its own atomic counter, so
+ * contention on one hot product never blocks another, and a sold-out SKU is rejected
+ * without a database round trip. The conditional UPDATE stays the source of truth: a
+ * counter that drifts is dropped and reloaded rather than trusted. Stock is loaded outside
+ * the map, so the query never runs under a bin lock; a load that overlaps an invalidation of
+ * its SKU, tracked per stripe of ids, serves its own caller but is not kept.
+ */
+@Component
+public class InventoryCounters {
+    private static final int STRIPES = 1024;
+
+    private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public boolean tryAcquire(Long productId, int quantity, LongFunction<Integer> loader) {
+        AtomicInteger counter = available.get(productId);
+        if (counter == null) {
+            counter = load(productId, loader);
+        }
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(Long productId, int quantity) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            counter.addAndGet(quantity);
+        }
+    }
+
+    public void invalidate(Long productId) {
+        generations.incrementAndGet(stripe(productId));
+        available.remove(productId);
+    }
+
+    private AtomicInteger load(Long productId, LongFunction<Integer> loader) {
+        int stripe = stripe(productId);
+        long generation = generations.get(stripe);
+        AtomicInteger loaded = new AtomicInteger(loader.apply(productId));
+        if (generations.get(stripe) != generation) {
+            return loaded;
+        }
+        AtomicInteger existing = available.putIfAbsent(productId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (generations.get(stripe) != generation) {
+            available.remove(productId, loaded);
+        }
+        return loaded;
+    }
+
+    private static int stripe(Long productId) {
+        return Long.hashCode(productId) & (STRIPES - 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        // Local reservations already adjusted the counter; anything else changed stock behind it
+        if (event.isInventoryOnly() && !event.isRemote()) {
+            return;
+        }
+        if (event.getProductId() == null) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+            available.clear();
+        } else {
+            invalidate(Long.valueOf(event.getProductId()));
+        }
+    }
+}
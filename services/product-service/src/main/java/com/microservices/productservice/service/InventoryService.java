@@ -0,0 +1,217 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ReservationResponse;
+import com.microservices.productservice.model.InventoryReservation;
+import com.microservices.productservice.model.ReservationStatus;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.InventoryReservationRepository;
+import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reserve / confirm / release against Product.inventoryCount. A hold takes stock out of
+ * inventoryCount immediately; confirming keeps it out, releasing or letting the hold
+ * expire puts it back. Every stock change is a conditional UPDATE, so concurrent
+ * reservations on one SKU can never take it below zero.
+ */
+@Service
+@Slf4j
+public class InventoryService {
+    private final ProductRepository productRepository;
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryCounters inventoryCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultHold;
+    private final Duration maxHold;
+    private final int sweepBatchSize;
+
+    public InventoryService(ProductRepository productRepository,
+                            InventoryReservationRepository reservationRepository,
+                            InventoryCounters inventoryCounters,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher applicationEventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${product.inventory.hold-ttl:10m}") Duration defaultHold,
+                            @Value("${product.inventory.max-hold-ttl:1h}") Duration maxHold,
+                            @Value("${product.inventory.sweep-batch-size:500}") int sweepBatchSize) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.inventoryCounters = inventoryCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.defaultHold = defaultHold;
+        this.maxHold = maxHold;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    public ReservationResponse reserve(String productId, int quantity, Long holdSeconds) {
+        if (quantity < 1) {
+            throw new RuntimeException("Quantity must be at least 1");
+        }
+        Long id = toProductId(productId);
+        Duration hold = holdSeconds != null ? Duration.ofSeconds(holdSeconds) : defaultHold;
+        if (hold.compareTo(maxHold) > 0) {
+            hold = maxHold;
+        }
+
+        if (!inventoryCounters.tryAcquire(id, quantity, this::loadAvailable)) {
+            record("rejected");
+            return rejected(productId, quantity);
+        }
+
+        InventoryReservation reservation;
+        try {
+            Duration expiresIn = hold;
+            reservation = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (productRepository.decrementInventory(id, quantity, now) == 0) {
+                    return null;
+                }
+                publishInventoryChanged(id);
+                return reservationRepository.save(InventoryReservation.builder()
+                        .id(UUID.randomUUID().toString())
+                        .productId(id)
+                        .quantity(quantity)
+                        .status(ReservationStatus.HELD)
+                        .expiresAt(now.plus(expiresIn))
+                        .build());
+            });
+        } catch (RuntimeException e) {
+            inventoryCounters.invalidate(id);
+            throw e;
+        }
+
+        if (reservation == null) {
+            // Another instance or an admin edit took the stock; resync from the database
+            inventoryCounters.invalidate(id);
+            record("rejected");
+            return rejected(productId, quantity);
+        }
+        record("held");
+        return toResponse(reservation, true);
+    }
+
+    public ReservationResponse confirm(String reservationId) {
+        Boolean confirmed = transactionTemplate.execute(status -> reservationRepository.transitionIfUnexpired(
+                reservationId, ReservationStatus.HELD, ReservationStatus.CONFIRMED, LocalDateTime.now()) == 1);
+        if (Boolean.TRUE.equals(confirmed)) {
+            record("confirmed");
+        }
+        return toResponse(getReservationEntity(reservationId), Boolean.TRUE.equals(confirmed));
+    }
+
+    public ReservationResponse release(String reservationId) {
+        InventoryReservation reservation = getReservationEntity(reservationId);
+        boolean released = returnStock(reservation, ReservationStatus.RELEASED);
+        if (released) {
+            record("released");
+        }
+        return toResponse(getReservationEntity(reservationId), released);
+    }
+
+    public ReservationResponse getReservation(String reservationId) {
+        return toResponse(getReservationEntity(reservationId), true);
+    }
+
+    @Scheduled(fixedDelayString = "${product.inventory.sweep-interval:PT5S}")
+    public void expireHolds() {
+        List<InventoryReservation> expiring;
+        do {
+            expiring = reservationRepository.findExpiring(
+                    ReservationStatus.HELD, LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+            int expired = 0;
+            for (InventoryReservation reservation : expiring) {
+                if (returnStock(reservation, ReservationStatus.EXPIRED)) {
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                meterRegistry.counter("product.inventory.reservations", "outcome", "expired").increment(expired);
+                log.debug("Expired {} inventory holds", expired);
+            }
+        } while (expiring.size() == sweepBatchSize);
+    }
+
+    private boolean returnStock(InventoryReservation reservation, ReservationStatus target) {
+        Boolean returned = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (reservationRepository.transition(reservation.getId(), ReservationStatus.HELD, target, now) == 0) {
+                return false;
+            }
+            productRepository.incrementInventory(reservation.getProductId(), reservation.getQuantity(), now);
+            publishInventoryChanged(reservation.getProductId());
+            return true;
+        });
+        if (Boolean.TRUE.equals(returned)) {
+            inventoryCounters.release(reservation.getProductId(), reservation.getQuantity());
+            return true;
+        }
+        return false;
+    }
+
+    private Integer loadAvailable(long productId) {
+        Integer available = productRepository.findInventoryCountById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        return available != null ? available : 0;
+    }
+
+    private void publishInventoryChanged(Long productId) {
+        applicationEventPublisher.publishEvent(ProductEvent.builder()
+                .productId(String.valueOf(productId))
+                .timestamp(LocalDateTime.now())
+                .eventType(ProductEvent.INVENTORY_CHANGED)
+                .build());
+    }
+
+    private InventoryReservation getReservationEntity(String reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("product.inventory.reservations", "outcome", outcome).increment();
+    }
+
+    private ReservationResponse rejected(String productId, int quantity) {
+        return ReservationResponse.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .accepted(false)
+                .build();
+    }
+
+    private ReservationResponse toResponse(InventoryReservation reservation, boolean accepted) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.getId())
+                .productId(String.valueOf(reservation.getProductId()))
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .accepted(accepted)
+                .expiresAt(reservation.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli())
+                .build();
+    }
+
+    private Long toProductId(String productId) {
+        try {
+            return Long.valueOf(productId);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Product not found");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.microservices.productservice.service;
+
+import java.util.Set;
+
+/**
+ * Outcome of one consumed batch. rejected counts order line items that were not taken
+ * because the product did not have enough stock left.
+ */
+public record OrderInventoryBatchResult(int applied, int skipped, int rejected, Set<Long> updatedProductIds) {
+}
@@ -0,0 +1,235 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.model.event.OrderCreatedEvent;
+import com.microservices.productservice.model.event.OrderStatusChangedEvent;
+import com.microservices.productservice.model.event.ProductEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Applies a batch of order events to Product.inventoryCount in one transaction. Takes and
+ * restores are netted per product, so a batch costs one UPDATE per SKU however many orders
+ * and cancellations touched it. Event ids are recorded in processed_order_events in the
+ * same transaction, which makes redelivery after a crash or rebalance a no-op.
+ *
+ * The order service's status events carry no line items, so the quantities taken by each
+ * order are kept in order_inventory_allocations and read back when it is cancelled.
+ *
+ * Stock never goes below zero: the UPDATE is conditional on the net result. Only when a
+ * product's net delta does not fit are its orders applied one by one, in arrival order; a
+ * take that still does not fit is rejected, logged and counted, and its allocation is not
+ * recorded, so a later cancellation gives back only what was taken.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderInventoryService {
+    private static final String ADJUST_INVENTORY =
+            "UPDATE products SET inventory_count = inventory_count + ?, updated_at = ? " +
+                    "WHERE id = ? AND inventory_count + ? >= 0";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final InventoryCounters inventoryCounters;
+
+    public OrderInventoryBatchResult apply(List<?> events) {
+        Map<String, Object> pending = new LinkedHashMap<>();
+        Set<String> lookupKeys = new HashSet<>();
+        for (Object event : events) {
+            String key = eventKey(event);
+            if (key == null) {
+                continue;
+            }
+            pending.putIfAbsent(key, event);
+            lookupKeys.add(key);
+            if (event instanceof OrderCreatedEvent created) {
+                lookupKeys.add(cancelledKey(created.getOrderId()));
+            }
+        }
+        if (pending.isEmpty()) {
+            return new OrderInventoryBatchResult(0, events.size(), 0, Set.of());
+        }
+
+        OrderInventoryBatchResult result = transactionTemplate.execute(status -> applyInTransaction(pending, lookupKeys, events.size()));
+        for (Long productId : result.updatedProductIds()) {
+            inventoryCounters.invalidate(productId);
+        }
+        return result;
+    }
+
+    private OrderInventoryBatchResult applyInTransaction(Map<String, Object> pending, Set<String> lookupKeys, int received) {
+        Set<String> processed = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT event_id FROM processed_order_events WHERE event_id IN (:keys)",
+                Map.of("keys", lookupKeys), String.class));
+
+        Map<String, List<Allocation>> batchAllocations = new LinkedHashMap<>();
+        Set<String> cancelledInBatch = new HashSet<>();
+        List<String> cancellations = new ArrayList<>();
+        List<String> applied = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : pending.entrySet()) {
+            if (processed.contains(entry.getKey())) {
+                continue;
+            }
+            applied.add(entry.getKey());
+            if (entry.getValue() instanceof OrderCreatedEvent created) {
+                String orderId = created.getOrderId();
+                if (processed.contains(cancelledKey(orderId)) || cancelledInBatch.contains(orderId)) {
+                    // Cancelled before we saw it placed; nothing was ever taken
+                    continue;
+                }
+                batchAllocations.put(orderId, toAllocations(created));
+            } else if (entry.getValue() instanceof OrderStatusChangedEvent changed) {
+                String orderId = changed.getOrderId();
+                cancelledInBatch.add(orderId);
+                // Placed and cancelled within the batch: nothing is taken or given back
+                if (batchAllocations.remove(orderId) == null) {
+                    cancellations.add(orderId);
+                }
+            }
+        }
+
+        // Restores count up and takes count down. Sorted so concurrent batches lock product
+        // rows in the same order
+        Map<Long, Integer> restores = new HashMap<>();
+        if (!cancellations.isEmpty()) {
+            jdbcTemplate.query(
+                    "SELECT product_id, quantity FROM order_inventory_allocations WHERE order_id IN (:orderIds)",
+                    Map.of("orderIds", cancellations),
+                    rs -> {
+                        restores.merge(rs.getLong("product_id"), rs.getInt("quantity"), Integer::sum);
+                    });
+        }
+        Map<Long, Integer> deltas = new TreeMap<>(restores);
+        batchAllocations.values().forEach(allocations -> allocations.forEach(allocation ->
+                deltas.merge(allocation.productId(), -allocation.quantity(), Integer::sum)));
+        // A take fully covered by a restore leaves the row as it is
+        deltas.values().removeIf(delta -> delta == 0);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO processed_order_events (event_id, processed_at) VALUES (?, ?)",
+                applied.stream().map(key -> new Object[]{key, now}).toList());
+
+        Set<Long> updated = new TreeSet<>();
+        Set<Long> overdrawn = new TreeSet<>();
+        if (!deltas.isEmpty()) {
+            List<Long> productIds = new ArrayList<>(deltas.keySet());
+            List<Object[]> updates = new ArrayList<>(deltas.size());
+            deltas.forEach((productId, delta) -> updates.add(new Object[]{delta, now, productId, delta}));
+            int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(ADJUST_INVENTORY, updates);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    overdrawn.add(productIds.get(i));
+                } else {
+                    updated.add(productIds.get(i));
+                }
+            }
+        }
+
+        // The net take did not fit; give back what was cancelled, then give each order what
+        // is left, in arrival order
+        Set<Allocation> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!overdrawn.isEmpty()) {
+            for (Long productId : overdrawn) {
+                int restored = restores.getOrDefault(productId, 0);
+                if (restored > 0) {
+                    jdbcTemplate.getJdbcTemplate().update(ADJUST_INVENTORY, restored, now, productId, restored);
+                    updated.add(productId);
+                }
+            }
+            for (List<Allocation> allocations : batchAllocations.values()) {
+                for (Allocation allocation : allocations) {
+                    if (!overdrawn.contains(allocation.productId())) {
+                        continue;
+                    }
+                    int taken = jdbcTemplate.getJdbcTemplate().update(ADJUST_INVENTORY,
+                            -allocation.quantity(), now, allocation.productId(), -allocation.quantity());
+                    if (taken == 0) {
+                        rejected.add(allocation);
+                    } else {
+                        updated.add(allocation.productId());
+                    }
+                }
+            }
+            log.warn("Rejected {} order allocations that would have taken stock below zero for products {}",
+                    rejected.size(), overdrawn);
+        }
+
+        List<Object[]> allocationRows = new ArrayList<>();
+        batchAllocations.forEach((orderId, allocations) -> allocations.forEach(allocation -> {
+            if (!rejected.contains(allocation)) {
+                allocationRows.add(new Object[]{orderId, allocation.productId(), allocation.quantity()});
+            }
+        }));
+        if (!allocationRows.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "INSERT INTO order_inventory_allocations (order_id, product_id, quantity) VALUES (?, ?, ?)",
+                    allocationRows);
+        }
+
+        for (Long productId : updated) {
+            applicationEventPublisher.publishEvent(ProductEvent.builder()
+                    .productId(String.valueOf(productId))
+                    .timestamp(now.toLocalDateTime())
+                    .eventType(ProductEvent.INVENTORY_CHANGED)
+                    .build());
+        }
+
+        return new OrderInventoryBatchResult(applied.size(), received - applied.size(), rejected.size(), updated);
+    }
+
+    private static String eventKey(Object event) {
+        if (event instanceof OrderCreatedEvent created && created.getOrderId() != null) {
+            return "order.created:" + created.getOrderId();
+        }
+        if (event instanceof OrderStatusChangedEvent changed && changed.getOrderId() != null
+                && OrderStatusChangedEvent.CANCELLED.equals(changed.getNewStatus())) {
+            return cancelledKey(changed.getOrderId());
+        }
+        return null;
+    }
+
+    private static String cancelledKey(String orderId) {
+        return "order.cancelled:" + orderId;
+    }
+
+    private static List<Allocation> toAllocations(OrderCreatedEvent event) {
+        if (event.getItems() == null) {
+            return List.of();
+        }
+        List<Allocation> allocations = new ArrayList<>(event.getItems().size());
+        for (OrderCreatedEvent.Item item : event.getItems()) {
+            try {
+                if (item.getQuantity() > 0) {
+                    allocations.add(new Allocation(Long.valueOf(item.getProductId()), item.getQuantity()));
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring order {} item with unknown product id {}", event.getOrderId(), item.getProductId());
+            }
+        }
+        return allocations;
+    }
+
+    private record Allocation(Long productId, int quantity) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class ProductCountService {
+    private static final String EXPLAIN_PRICE_RANGE =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM products p WHERE p.price_cents BETWEEN ? AND ?";
+    private static final String EXPLAIN_CATEGORY_AND_PRICE_RANGE =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM products p JOIN categories c ON c.id = p.category_id " +
+                    "WHERE c.name = ? AND p.price_cents BETWEEN ? AND ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight singleFlight;
+    private final Cache<CountKey, Long> counts;
+    private final AtomicLong generation = new AtomicLong();
+    private final boolean plannerEstimatesAvailable;
+
+    public ProductCountService(ProductRepository productRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               SingleFlight singleFlight,
+                               MeterRegistry meterRegistry,
+                               @Value("${product.count-cache.ttl:30s}") Duration ttl,
+                               @Value("${product.count-cache.max-size:10000}") long maxSize) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.singleFlight = singleFlight;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "productCounts");
+        this.plannerEstimatesAvailable = isPostgres(jdbcTemplate);
+    }
+
+    public long countProducts(String category, long minPriceCents, long maxPriceCents) {
+        CountKey key = new CountKey(category, minPriceCents, maxPriceCents);
+        Long cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Misses for the same filter share one COUNT, run outside the cache so no map lock is
+        // held across the query. A count that started before an invalidation is not cached.
+        return singleFlight.execute(key, () -> {
+            long seen = generation.get();
+            long count = category != null
+                    ? productRepository.countByCategoryAndPriceRange(category, minPriceCents, maxPriceCents)
+                    : productRepository.countByPriceRange(minPriceCents, maxPriceCents);
+            cache(key, count, seen);
+            return count;
+        });
+    }
+
+    /**
+     * The cached count for a filter, or null without querying.
+     */
+    public Long peekCount(String category, long minPriceCents, long maxPriceCents) {
+        return counts.getIfPresent(new CountKey(category, minPriceCents, maxPriceCents));
+    }
+
+    /**
+     * Caches a count read elsewhere, unless products changed after the given generation.
+     */
+    public void putCount(String category, long minPriceCents, long maxPriceCents, long count, long seenGeneration) {
+        cache(new CountKey(category, minPriceCents, maxPriceCents), count, seenGeneration);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public long estimateProducts(String category, long minPriceCents, long maxPriceCents) {
+        Long cached = counts.getIfPresent(new CountKey(category, minPriceCents, maxPriceCents));
+        if (cached != null) {
+            return cached;
+        }
+        if (!plannerEstimatesAvailable) {
+            return countProducts(category, minPriceCents, maxPriceCents);
+        }
+
+        String plan = category != null
+                ? jdbcTemplate.queryForObject(EXPLAIN_CATEGORY_AND_PRICE_RANGE, String.class,
+                        category, minPriceCents, maxPriceCents)
+                : jdbcTemplate.queryForObject(EXPLAIN_PRICE_RANGE, String.class, minPriceCents, maxPriceCents);
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (Exception e) {
+            log.warn("Could not read planner estimate, falling back to exact count", e);
+            return countProducts(category, minPriceCents, maxPriceCents);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (event.isInventoryOnly()) {
+            return;
+        }
+        generation.incrementAndGet();
+        counts.invalidateAll();
+    }
+
+    private void cache(CountKey key, long count, long seen) {
+        if (generation.get() == seen) {
+            counts.put(key, count);
+            if (generation.get() != seen) {
+                counts.asMap().remove(key, count);
+            }
+        }
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not determine database product, planner estimates disabled", e);
+            return false;
+        }
+    }
+
+    private record CountKey(String category, long minPriceCents, long maxPriceCents) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ProductListingRow;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque keyset pagination token. Encodes the sort specification together with the
+ * (sort key, id) pair of the last row a client has seen, so the next page can be read
+ * with a seek predicate instead of an offset scan.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCursor {
+    private static final Set<String> SORT_PROPERTIES = Set.of("name", "price", "createdAt");
+    private static final char SEPARATOR = '|';
+
+    private final String sort;
+    private final Object key;
+    private final Long id;
+
+    public static boolean supports(String sort) {
+        return SORT_PROPERTIES.contains(propertyOf(sort));
+    }
+
+    public static ProductCursor start(String sort) {
+        requireSupported(sort);
+        return new ProductCursor(sort, null, null);
+    }
+
+    public static ProductCursor after(String sort, ProductListingRow last) {
+        requireSupported(sort);
+        Object key = keyOf(sort, last);
+        if (key == null) {
+            throw new RuntimeException("Cannot seek past a product without a " + propertyOf(sort));
+        }
+        return new ProductCursor(sort, key, last.getId());
+    }
+
+    /**
+     * Encoded token for the page after the given row, or null when the row has no sort key.
+     * Databases disagree on where nulls sort, so no seek position can be derived from such a
+     * row and the client continues with page numbers instead.
+     */
+    public static String tokenAfter(String sort, ProductListingRow last) {
+        return keyOf(sort, last) != null ? after(sort, last).encode() : null;
+    }
+
+    public static ProductCursor decode(String token, String sort) {
+        if (token == null || token.isBlank()) {
+            return start(sort);
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+
+        int first = decoded.indexOf(SEPARATOR);
+        int last = decoded.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            throw new RuntimeException("Invalid cursor");
+        }
+
+        String cursorSort = decoded.substring(0, first);
+        if (!cursorSort.equals(sort)) {
+            throw new RuntimeException("Cursor does not match sort " + sort);
+        }
+
+        try {
+            String rawKey = decoded.substring(first + 1, last);
+            Long id = Long.valueOf(decoded.substring(last + 1));
+            Object key = switch (propertyOf(sort)) {
+                case "price" -> new BigDecimal(rawKey);
+                case "createdAt" -> LocalDateTime.parse(rawKey);
+                default -> rawKey;
+            };
+            return new ProductCursor(sort, key, id);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String rawKey = key instanceof BigDecimal price ? price.toPlainString() : String.valueOf(key);
+        String raw = sort + SEPARATOR + rawKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getProperty() {
+        return propertyOf(sort);
+    }
+
+    public boolean isDescending() {
+        return sort.startsWith("-");
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    private static Object keyOf(String sort, ProductListingRow row) {
+        return switch (propertyOf(sort)) {
+            case "price" -> row.getPrice();
+            case "createdAt" -> row.getCreatedAt();
+            default -> row.getName();
+        };
+    }
+
+    private static String propertyOf(String sort) {
+        return sort.startsWith("-") ? sort.substring(1) : sort;
+    }
+
+    private static void requireSupported(String sort) {
+        if (!supports(sort)) {
+            throw new RuntimeException("Cursor pagination is not supported for sort " + sort);
+        }
+    }
+}
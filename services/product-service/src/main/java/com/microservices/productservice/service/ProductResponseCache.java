@@ -0,0 +1,92 @@
+package com.microservices.productservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.model.event.ProductEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapped product responses, evicted when a product event arrives. Loads run outside the
+ * cache, so an eviction can land while a load of the old row is still in flight; callers
+ * read {@link #generation} before loading and pass it to {@link #put}, which drops the
+ * response if the id was evicted in between. Generations are kept per stripe of ids, so
+ * an unrelated eviction in the same stripe only costs a skipped put.
+ */
+@Component
+public class ProductResponseCache {
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, ProductResponse> responses;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public ProductResponseCache(MeterRegistry meterRegistry,
+                                @Value("${product.cache.max-size:50000}") long maxSize,
+                                @Value("${product.cache.ttl:10m}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "productResponses");
+    }
+
+    public ProductResponse getIfPresent(Long productId) {
+        return responses.getIfPresent(productId);
+    }
+
+    /**
+     * Token to read before loading the product, for the matching {@link #put}.
+     */
+    public long generation(Long productId) {
+        return generations.get(stripe(productId));
+    }
+
+    /**
+     * Caches a response loaded after {@link #generation} returned the given token, unless the
+     * id has been evicted since. The token is checked again after the write: an eviction that
+     * bumped it in between may already have invalidated, so the write is undone here.
+     */
+    public void put(Long productId, ProductResponse response, long generation) {
+        int stripe = stripe(productId);
+        if (generations.get(stripe) != generation) {
+            return;
+        }
+        responses.put(productId, response);
+        if (generations.get(stripe) != generation) {
+            responses.asMap().remove(productId, response);
+        }
+    }
+
+    public void evict(Long productId) {
+        generations.incrementAndGet(stripe(productId));
+        responses.invalidate(productId);
+    }
+
+    public void evictAll() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        responses.invalidateAll();
+    }
+
+    private static int stripe(Long productId) {
+        return Long.hashCode(productId) & (STRIPES - 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        if (event.getProductId() == null) {
+            evictAll();
+        } else {
+            evict(Long.valueOf(event.getProductId()));
+        }
+    }
+}
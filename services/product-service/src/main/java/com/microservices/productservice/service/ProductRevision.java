@@ -0,0 +1,35 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ProductField;
+import com.microservices.productservice.dto.ProductResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+public record ProductRevision(String etag, Long lastModified) {
+
+    public static ProductRevision of(ProductResponse response) {
+        return of(response.getProductId(), response.getUpdatedAt());
+    }
+
+    public static ProductRevision of(Long productId, LocalDateTime updatedAt) {
+        return of(String.valueOf(productId), updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : null);
+    }
+
+    /**
+     * The revision of a sparse representation; each field selection gets its own entity tag.
+     */
+    public ProductRevision forFields(Set<ProductField> fields) {
+        int mask = 0;
+        for (ProductField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return new ProductRevision(etag.substring(0, etag.length() - 1) + "-f" + Integer.toHexString(mask) + "\"",
+                lastModified);
+    }
+
+    private static ProductRevision of(String productId, Long updatedAt) {
+        return new ProductRevision("\"" + productId + "-" + (updatedAt != null ? updatedAt : 0) + "\"", updatedAt);
+    }
+}
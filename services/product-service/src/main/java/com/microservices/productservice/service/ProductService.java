@@ -1,71 +1,546 @@
 package com.microservices.productservice.service;
 
+import com.microservices.productservice.datasource.ReplicaSelector;
+import com.microservices.productservice.dto.BatchGetProductsResponse;
+import com.microservices.productservice.dto.BatchProductResult;
 import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductField;
+import com.microservices.productservice.dto.ProductListingRow;
 import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.dto.ProductSuggestResponse;
+import com.microservices.productservice.dto.SparseProductResponse;
+import com.microservices.productservice.index.CatalogIndex;
+import com.microservices.productservice.index.CatalogIndexPage;
 import com.microservices.productservice.model.Product;
 import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.search.ProductSearchIndex;
+import com.microservices.productservice.search.ProductSearchPage;
+import com.microservices.productservice.search.ProductSuggester;
+import com.microservices.productservice.util.PriceUnits;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ProductService {
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_SEARCH_WINDOW = 10_000;
+
     private final ProductRepository productRepository;
+    private final ProductCountService productCountService;
+    private final ProductResponseCache productResponseCache;
+    private final CategoryCatalog categoryCatalog;
+    private final CatalogVersion catalogVersion;
+    private final CatalogIndex catalogIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggester productSuggester;
+    private final SingleFlight singleFlight;
 
     public PagedProductResponse getProducts(String category, BigDecimal minPrice, BigDecimal maxPrice,
                                           int page, int size, String sort) {
-        Sort.Direction direction = sort.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        String property = sort.startsWith("-") ? sort.substring(1) : sort;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
+        return getProducts(category, minPrice, maxPrice, page, size, sort, null, TotalsMode.EXACT);
+    }
+
+    public PagedProductResponse getProducts(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                          int page, int size, String sort, String cursor, TotalsMode totals) {
+        return getProducts(category, minPrice, maxPrice, page, size, sort, cursor, totals, null);
+    }
+
+    public PagedProductResponse getProducts(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                          int page, int size, String sort, String cursor, TotalsMode totals,
+                                          Set<ProductField> fields) {
+        return getProducts(category, PriceUnits.toMinorUnits(minPrice, RoundingMode.CEILING),
+                PriceUnits.toMinorUnits(maxPrice, RoundingMode.FLOOR), page, size, sort, cursor, totals, fields);
+    }
+
+    /**
+     * Lists products priced within the given minor-unit bounds, inclusive, with only the
+     * given fields populated, or every field when fields is null. A field selection is
+     * pushed down into the query so unselected columns are never read.
+     */
+    public PagedProductResponse getProducts(String category, long minPriceCents, long maxPriceCents,
+                                          int page, int size, String sort, String cursor, TotalsMode totals,
+                                          Set<ProductField> fields) {
+        ListingKey key = new ListingKey(category, minPriceCents, maxPriceCents, page, size, sort, cursor, totals,
+                fields);
+        return singleFlight.execute(key, () -> listProducts(category, minPriceCents, maxPriceCents, page, size, sort,
+                cursor, totals, fields));
+    }
+
+    private PagedProductResponse listProducts(String category, long minPriceCents, long maxPriceCents,
+                                              int page, int size, String sort, String cursor, TotalsMode totals,
+                                              Set<ProductField> fields) {
+        Set<ProductField> selection = fields != null ? selectionFor(fields, sort) : null;
+        if (cursor != null) {
+            return getProductsAfter(category, minPriceCents, maxPriceCents, size, sort, ProductCursor.decode(cursor, sort),
+                    fields, selection);
+        }
+
+        CatalogIndexPage indexed = catalogIndex.query(category, minPriceCents, maxPriceCents, sort,
+                (long) page * size, size);
+        if (indexed != null) {
+            return getIndexedProducts(indexed, page, size, sort, totals, fields, selection);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
 
-        Page<Product> productPage;
-        if (category != null) {
-            productPage = productRepository.findByCategoryAndPriceRange(category, minPrice, maxPrice, pageable);
+        Slice<ProductListingRow> productSlice;
+        if (selection != null) {
+            productSlice = findListingFields(category, minPriceCents, maxPriceCents, pageable, selection);
+        } else if (category != null) {
+            productSlice = productRepository.findListingByCategoryAndPriceRange(
+                    category, minPriceCents, maxPriceCents, pageable);
         } else {
-            productPage = productRepository.findByPriceRange(minPrice, maxPrice, pageable);
+            productSlice = productRepository.findListingByPriceRange(minPriceCents, maxPriceCents, pageable);
+        }
+
+        List<ProductResponse> items = productSlice.getContent().stream()
+                .map(row -> mapToProductResponse(row, fields))
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (productSlice.hasNext() && ProductCursor.supports(sort)) {
+            List<ProductListingRow> content = productSlice.getContent();
+            nextCursor = ProductCursor.tokenAfter(sort, content.get(content.size() - 1));
         }
 
-        List<ProductResponse> items = productPage.getContent().stream()
+        PagedProductResponse.PagedProductResponseBuilder response = PagedProductResponse.builder()
+                .items(items)
+                .hasNext(productSlice.hasNext())
+                .nextCursor(nextCursor);
+
+        if (totals != TotalsMode.NONE) {
+            long totalItems;
+            boolean approximate = false;
+            // The index counts any sort exactly, even the ones whose order the database decides
+            Long indexedCount = catalogIndex.count(category, minPriceCents, maxPriceCents);
+            if (!productSlice.hasNext() && (page == 0 || !items.isEmpty())) {
+                totalItems = (long) page * size + items.size();
+            } else if (indexedCount != null) {
+                totalItems = indexedCount;
+            } else if (totals == TotalsMode.APPROXIMATE) {
+                totalItems = productCountService.estimateProducts(category, minPriceCents, maxPriceCents);
+                approximate = true;
+            } else {
+                totalItems = productCountService.countProducts(category, minPriceCents, maxPriceCents);
+            }
+            response.totalItems(totalItems)
+                    .totalPages(size == 0 ? 1 : (int) Math.ceil((double) totalItems / size))
+                    .totalsApproximate(approximate);
+        }
+
+        return response.build();
+    }
+
+    private PagedProductResponse getIndexedProducts(CatalogIndexPage indexed, int page, int size, String sort,
+                                                    TotalsMode totals, Set<ProductField> fields,
+                                                    Set<ProductField> selection) {
+        List<ProductListingRow> content = hydrate(indexed.productIds(), selection);
+
+        List<ProductResponse> items = content.stream()
+                .map(row -> mapToProductResponse(row, fields))
+                .collect(Collectors.toList());
+
+        boolean hasNext = (long) (page + 1) * size < indexed.totalItems();
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty() && ProductCursor.supports(sort)) {
+            nextCursor = ProductCursor.tokenAfter(sort, content.get(content.size() - 1));
+        }
+
+        PagedProductResponse.PagedProductResponseBuilder response = PagedProductResponse.builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor);
+        if (totals != TotalsMode.NONE) {
+            response.totalItems(indexed.totalItems())
+                    .totalPages(size == 0 ? 1 : (int) Math.ceil((double) indexed.totalItems() / size))
+                    .totalsApproximate(false);
+        }
+        return response.build();
+    }
+
+    public PagedProductResponse searchProducts(String query, String category, BigDecimal minPrice,
+                                               BigDecimal maxPrice, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new RuntimeException("Invalid page or size");
+        }
+        long offset = (long) page * size;
+        if (offset + size > MAX_SEARCH_WINDOW) {
+            throw new RuntimeException("Search results are limited to the first " + MAX_SEARCH_WINDOW + " hits");
+        }
+        ProductSearchPage hits = productSearchIndex.search(query, category, minPrice, maxPrice, (int) offset, size);
+
+        List<ProductResponse> items = hydrate(hits.productIds(), null).stream()
                 .map(this::mapToProductResponse)
                 .collect(Collectors.toList());
 
         return PagedProductResponse.builder()
                 .items(items)
-                .totalItems(productPage.getTotalElements())
-                .totalPages(productPage.getTotalPages())
+                .totalItems(hits.totalHits())
+                .totalPages((int) Math.ceil((double) hits.totalHits() / size))
+                .hasNext(offset + size < hits.totalHits())
+                .build();
+    }
+
+    public ProductSuggestResponse suggestProducts(String prefix, int limit) {
+        return ProductSuggestResponse.builder()
+                .prefix(prefix)
+                .suggestions(productSuggester.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))))
+                .build();
+    }
+
+    private List<ProductListingRow> hydrate(List<Long> productIds, Set<ProductField> selection) {
+        List<ProductListingRow> content = new ArrayList<>(productIds.size());
+        if (productIds.isEmpty()) {
+            return content;
+        }
+        List<ProductListingRow> rows = selection != null
+                ? productRepository.findListingFieldsByIdIn(productIds, selection)
+                : productRepository.findListingByIdIn(productIds);
+        Map<Long, ProductListingRow> rowsById = rows.stream()
+                .collect(Collectors.toMap(ProductListingRow::getId, Function.identity()));
+        for (Long productId : productIds) {
+            ProductListingRow row = rowsById.get(productId);
+            if (row != null) {
+                content.add(row);
+            }
+        }
+        return content;
+    }
+
+    private PagedProductResponse getProductsAfter(String category, long minPriceCents, long maxPriceCents,
+                                                  int size, String sort, ProductCursor cursor,
+                                                  Set<ProductField> fields, Set<ProductField> selection) {
+        List<ProductListingRow> rows = selection != null
+                ? productRepository.findPageAfter(category, minPriceCents, maxPriceCents, cursor.getProperty(),
+                        cursor.isDescending(), cursor.getKey(), cursor.getId(), size + 1, selection)
+                : productRepository.findPageAfter(category, minPriceCents, maxPriceCents, cursor.getProperty(),
+                        cursor.isDescending(), cursor.getKey(), cursor.getId(), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<ProductListingRow> content = hasNext ? rows.subList(0, size) : rows;
+
+        List<ProductResponse> items = content.stream()
+                .map(row -> mapToProductResponse(row, fields))
+                .collect(Collectors.toList());
+
+        return PagedProductResponse.builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? ProductCursor.tokenAfter(sort, content.get(content.size() - 1)) : null)
                 .build();
     }
 
     public ProductResponse getProductById(String productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-        return mapToProductResponse(product);
+        Long id = toProductId(productId);
+        ProductResponse response = productResponseCache.getIfPresent(id);
+        if (response == null) {
+            // Misses for the same id share one load, including ones that find nothing. The query
+            // runs outside the cache so it never holds a map lock, which would pin a virtual thread
+            response = singleFlight.execute(id, () -> {
+                long generation = productResponseCache.generation(id);
+                // Read from the primary if this product was just written, so the old row is not cached
+                ProductResponse loaded = ReplicaSelector.readingProduct(id, () -> productRepository.findById(id)
+                        .map(this::mapToProductResponse)
+                        .orElse(null));
+                if (loaded != null) {
+                    productResponseCache.put(id, loaded, generation);
+                }
+                return loaded;
+            });
+        }
+        if (response == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return response;
     }
 
-    public List<String> getCategories() {
-        return productRepository.findDistinctCategories();
+    /**
+     * Reads a single product with only the given fields. A cached full response is trimmed
+     * in memory; otherwise only the selected columns, plus updatedAt for the revision, are
+     * read, and the partial row is not cached.
+     */
+    public SparseProduct getProductById(String productId, Set<ProductField> fields) {
+        Long id = toProductId(productId);
+        ProductResponse cached = productResponseCache.getIfPresent(id);
+        if (cached != null) {
+            return new SparseProduct(project(cached, fields), ProductRevision.of(cached).forFields(fields));
+        }
+
+        Set<ProductField> selection = EnumSet.copyOf(fields);
+        selection.add(ProductField.UPDATED_AT);
+        List<ProductListingRow> rows = ReplicaSelector.readingProduct(id,
+                () -> productRepository.findListingFieldsByIdIn(List.of(id), selection));
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Product not found");
+        }
+        ProductListingRow row = rows.get(0);
+        return new SparseProduct(mapToProductResponse(row, fields),
+                ProductRevision.of(id, row.getUpdatedAt()).forFields(fields));
+    }
+
+    public BatchGetProductsResponse batchGetProducts(List<String> productIds) {
+        Map<Long, ProductResponse> resolved = new HashMap<>();
+        Map<Long, Long> missing = new HashMap<>();
+        for (String productId : productIds) {
+            Long id = parseProductId(productId);
+            if (id == null || resolved.containsKey(id)) {
+                continue;
+            }
+            ProductResponse cached = productResponseCache.getIfPresent(id);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else {
+                missing.put(id, productResponseCache.generation(id));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllWithCategoryByIdIn(missing.keySet())) {
+                ProductResponse response = mapToProductResponse(product);
+                productResponseCache.put(product.getId(), response, missing.get(product.getId()));
+                resolved.put(product.getId(), response);
+            }
+        }
+
+        List<BatchProductResult> results = productIds.stream()
+                .map(productId -> {
+                    Long id = parseProductId(productId);
+                    ProductResponse product = id != null ? resolved.get(id) : null;
+                    return BatchProductResult.builder()
+                            .productId(productId)
+                            .found(product != null)
+                            .product(product)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        return BatchGetProductsResponse.builder()
+                .results(results)
+                .build();
+    }
+
+    public ProductRevision getProductRevision(String productId) {
+        Long id = toProductId(productId);
+        ProductResponse cached = productResponseCache.getIfPresent(id);
+        if (cached != null) {
+            return ProductRevision.of(cached);
+        }
+        return productRepository.findUpdatedAtById(id)
+                .map(updatedAt -> ProductRevision.of(id, updatedAt))
+                .orElse(null);
+    }
+
+    public String getListingEtag(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                 int page, int size, String sort, String cursor, TotalsMode totals) {
+        return getListingEtag(category, minPrice, maxPrice, page, size, sort, cursor, totals, null);
+    }
+
+    public String getListingEtag(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                 int page, int size, String sort, String cursor, TotalsMode totals,
+                                 Set<ProductField> fields) {
+        return getListingEtag(category, PriceUnits.toMinorUnits(minPrice, RoundingMode.CEILING),
+                PriceUnits.toMinorUnits(maxPrice, RoundingMode.FLOOR), page, size, sort, cursor, totals, fields);
+    }
+
+    public String getListingEtag(String category, long minPriceCents, long maxPriceCents,
+                                 int page, int size, String sort, String cursor, TotalsMode totals,
+                                 Set<ProductField> fields) {
+        return listingEtag(catalogVersion.get(), category, minPriceCents, maxPriceCents, page, size, sort,
+                cursor, totals, fields);
+    }
+
+    /**
+     * The listing's ETag if the catalog version is cheap to get right now, otherwise null; see
+     * {@link CatalogVersion#getIfCheap}.
+     */
+    public String peekListingEtag(String category, long minPriceCents, long maxPriceCents,
+                                  int page, int size, String sort, String cursor, TotalsMode totals,
+                                  Set<ProductField> fields) {
+        String version = catalogVersion.getIfCheap();
+        return version != null
+                ? listingEtag(version, category, minPriceCents, maxPriceCents, page, size, sort, cursor, totals, fields)
+                : null;
+    }
+
+    private static String listingEtag(String version, String category, long minPriceCents, long maxPriceCents,
+                                      int page, int size, String sort, String cursor, TotalsMode totals,
+                                      Set<ProductField> fields) {
+        String key = String.join("|", version, String.valueOf(category),
+                String.valueOf(minPriceCents), String.valueOf(maxPriceCents), String.valueOf(page),
+                String.valueOf(size), sort, String.valueOf(cursor), totals.name(), String.valueOf(fields));
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public CategoryCatalogSnapshot getCategoryCatalog() {
+        return categoryCatalog.getSnapshot();
     }
 
     private ProductResponse mapToProductResponse(Product product) {
+        Integer inventoryCount = product.getInventoryCount();
         return ProductResponse.builder()
-                .productId(product.getId())
+                .productId(String.valueOf(product.getId()))
                 .name(product.getName())
                 .description(product.getDescription())
                 .price(product.getPrice())
-                .category(product.getCategory())
-                .stockQuantity(product.getStockQuantity())
-                .imageUrl(product.getImageUrl())
-                .isAvailable(product.getIsAvailable())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
+                .category(product.getCategory() != null ? product.getCategory().getName() : null)
+                .stockQuantity(inventoryCount)
+                .imageUrl(primaryImageUrl(product))
+                .isAvailable(inventoryCount != null && inventoryCount > 0)
+                .createdAt(toEpochMilli(product.getCreatedAt()))
+                .updatedAt(toEpochMilli(product.getUpdatedAt()))
+                .build();
+    }
+
+    public ProductResponse mapToProductResponse(ProductListingRow row) {
+        Integer inventoryCount = row.getInventoryCount();
+        return ProductResponse.builder()
+                .productId(String.valueOf(row.getId()))
+                .name(row.getName())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .category(row.getCategory())
+                .stockQuantity(inventoryCount)
+                .imageUrl(row.getImageUrl())
+                .isAvailable(inventoryCount != null && inventoryCount > 0)
+                .createdAt(toEpochMilli(row.getCreatedAt()))
+                .updatedAt(toEpochMilli(row.getUpdatedAt()))
                 .build();
     }
-}
\ No newline at end of file
+
+    private ProductResponse mapToProductResponse(ProductListingRow row, Set<ProductField> fields) {
+        if (fields == null) {
+            return mapToProductResponse(row);
+        }
+        Integer inventoryCount = row.getInventoryCount();
+        ProductResponse.ProductResponseBuilder response = ProductResponse.builder()
+                .productId(String.valueOf(row.getId()));
+        for (ProductField field : fields) {
+            switch (field) {
+                case NAME -> response.name(row.getName());
+                case DESCRIPTION -> response.description(row.getDescription());
+                case PRICE -> response.price(row.getPrice());
+                case CATEGORY -> response.category(row.getCategory());
+                case STOCK_QUANTITY -> response.stockQuantity(inventoryCount);
+                case IMAGE_URL -> response.imageUrl(row.getImageUrl());
+                case IS_AVAILABLE -> response.isAvailable(inventoryCount != null && inventoryCount > 0);
+                case CREATED_AT -> response.createdAt(toEpochMilli(row.getCreatedAt()));
+                case UPDATED_AT -> response.updatedAt(toEpochMilli(row.getUpdatedAt()));
+                default -> {
+                }
+            }
+        }
+        return new SparseProductResponse(response.build());
+    }
+
+    private static ProductResponse project(ProductResponse full, Set<ProductField> fields) {
+        ProductResponse.ProductResponseBuilder response = ProductResponse.builder()
+                .productId(full.getProductId());
+        for (ProductField field : fields) {
+            switch (field) {
+                case NAME -> response.name(full.getName());
+                case DESCRIPTION -> response.description(full.getDescription());
+                case PRICE -> response.price(full.getPrice());
+                case CATEGORY -> response.category(full.getCategory());
+                case STOCK_QUANTITY -> response.stockQuantity(full.getStockQuantity());
+                case IMAGE_URL -> response.imageUrl(full.getImageUrl());
+                case IS_AVAILABLE -> response.isAvailable(full.getIsAvailable());
+                case CREATED_AT -> response.createdAt(full.getCreatedAt());
+                case UPDATED_AT -> response.updatedAt(full.getUpdatedAt());
+                default -> {
+                }
+            }
+        }
+        return new SparseProductResponse(response.build());
+    }
+
+    /**
+     * The requested fields plus whatever the next-page cursor needs from each row.
+     */
+    private static Set<ProductField> selectionFor(Set<ProductField> fields, String sort) {
+        if (!ProductCursor.supports(sort)) {
+            return fields;
+        }
+        Set<ProductField> selection = EnumSet.copyOf(fields);
+        selection.add(ProductField.forSortProperty(sort.startsWith("-") ? sort.substring(1) : sort));
+        return selection;
+    }
+
+    private Slice<ProductListingRow> findListingFields(String category, long minPriceCents, long maxPriceCents,
+                                                       Pageable pageable, Set<ProductField> selection) {
+        Sort.Order order = pageable.getSort().iterator().next();
+        List<ProductListingRow> rows = productRepository.findListingFields(category, minPriceCents, maxPriceCents,
+                order.getProperty(), order.isDescending(), pageable.getOffset(), pageable.getPageSize() + 1, selection);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private String primaryImageUrl(Product product) {
+        if (product.getImages() == null || product.getImages().isEmpty()) {
+            return null;
+        }
+        return product.getImages().stream()
+                .filter(image -> Boolean.TRUE.equals(image.getIsPrimary()))
+                .findFirst()
+                .orElse(product.getImages().get(0))
+                .getUrl();
+    }
+
+    static Sort parseSort(String sort) {
+        Sort.Direction direction = sort.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String property = sort.startsWith("-") ? sort.substring(1) : sort;
+        // id breaks ties so equal sort keys keep one order across pages, as the seek queries do
+        return Sort.by(direction, property.equals("price") ? "priceCents" : property)
+                .and(Sort.by(direction, "id"));
+    }
+
+    private Long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : null;
+    }
+
+    /**
+     * Parses a product id from a request. An id that cannot name a product fails the same
+     * way as one that names no product.
+     */
+    public Long toProductId(String productId) {
+        Long id = parseProductId(productId);
+        if (id == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return id;
+    }
+
+    private Long parseProductId(String productId) {
+        try {
+            return Long.valueOf(productId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record ListingKey(String category, long minPriceCents, long maxPriceCents, int page, int size,
+                              String sort, String cursor, TotalsMode totals, Set<ProductField> fields) {
+    }
+}
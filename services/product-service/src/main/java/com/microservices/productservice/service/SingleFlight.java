@@ -0,0 +1,93 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.metrics.StatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader on its own
+ * thread, inside its own transaction, and callers arriving while it runs wait for that
+ * result or failure instead of loading again. Nothing is cached once the load finishes.
+ */
+@Component
+public class SingleFlight {
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${product.single-flight.timeout:5s}") Duration timeout) {
+        this.timeoutNanos = timeout.toNanos();
+        this.leaders = counter(meterRegistry, "leader");
+        this.followers = counter(meterRegistry, "follower");
+        this.timeouts = Counter.builder("product.single-flight.timeouts")
+                .description("Waiters that gave up on an in-flight load")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the loader for the key unless a load for an equal key is already running, in
+     * which case waits up to the configured timeout for that load's result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            followers.increment();
+            StatementCounter.markCoalesced();
+            return (T) await(key, existing);
+        }
+
+        leaders.increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(Object key, CompletableFuture<Object> flight) {
+        try {
+            return flight.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new RuntimeException("Timed out waiting for in-flight load of " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for in-flight load of " + key, e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("product.single-flight.calls")
+                .description("Coalesced loads by whether the caller ran the load or waited for it")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
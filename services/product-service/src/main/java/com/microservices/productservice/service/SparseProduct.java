@@ -0,0 +1,10 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ProductResponse;
+
+/**
+ * A product restricted to a field selection, with the revision of the full product it was
+ * read from; the response may not carry updatedAt itself.
+ */
+public record SparseProduct(ProductResponse product, ProductRevision revision) {
+}
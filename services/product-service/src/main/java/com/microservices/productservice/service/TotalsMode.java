@@ -0,0 +1,7 @@
+package com.microservices.productservice.service;
+
+public enum TotalsMode {
+    EXACT,
+    APPROXIMATE,
+    NONE
+}
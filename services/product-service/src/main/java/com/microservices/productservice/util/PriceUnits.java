@@ -0,0 +1,95 @@
+package com.microservices.productservice.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class PriceUnits {
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    private PriceUnits() {
+    }
+
+    public static long toMinorUnits(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(MINOR_UNIT_SCALE).setScale(0, roundingMode).longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Parses a plain decimal such as "19.99", "-5" or "0.125" straight into minor units
+     * without building a BigDecimal, rounding away digits beyond the minor unit with the
+     * given mode. Exponent notation is not accepted. Malformed input throws
+     * NumberFormatException and a value beyond the range of a long ArithmeticException.
+     */
+    public static long parseMinorUnits(CharSequence text, RoundingMode roundingMode) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int fractionDigits = -1;
+        int firstDiscarded = -1;
+        boolean restDiscardedNonZero = false;
+        boolean sawDigit = false;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (fractionDigits >= 0) {
+                    throw invalid(text);
+                }
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw invalid(text);
+            }
+            sawDigit = true;
+            if (fractionDigits >= MINOR_UNIT_SCALE) {
+                if (firstDiscarded < 0) {
+                    firstDiscarded = c - '0';
+                } else if (c != '0') {
+                    restDiscardedNonZero = true;
+                }
+                continue;
+            }
+            units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (!sawDigit) {
+            throw invalid(text);
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < MINOR_UNIT_SCALE; scale++) {
+            units = Math.multiplyExact(units, 10);
+        }
+
+        if (firstDiscarded > 0 || restDiscardedNonZero) {
+            boolean increment = switch (roundingMode) {
+                case UP -> true;
+                case DOWN -> false;
+                case CEILING -> !negative;
+                case FLOOR -> negative;
+                case HALF_UP -> firstDiscarded >= 5;
+                case HALF_DOWN -> firstDiscarded > 5 || (firstDiscarded == 5 && restDiscardedNonZero);
+                case HALF_EVEN -> firstDiscarded > 5
+                        || (firstDiscarded == 5 && (restDiscardedNonZero || units % 2 == 1));
+                case UNNECESSARY -> throw new ArithmeticException("Rounding necessary for " + text);
+            };
+            if (increment) {
+                units = Math.addExact(units, 1);
+            }
+        }
+        return negative ? -units : units;
+    }
+
+    private static NumberFormatException invalid(CharSequence text) {
+        return new NumberFormatException("Invalid price: " + text);
+    }
+}
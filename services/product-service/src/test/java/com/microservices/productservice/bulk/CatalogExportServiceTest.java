@@ -0,0 +1,70 @@
+package com.microservices.productservice.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CatalogExportServiceTest {
+
+    private ProductRepository productRepository;
+    private ProductService productService;
+    private CatalogExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productService = mock(ProductService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(productService.mapToProductResponse(any())).thenAnswer(invocation -> {
+            ProductListingRow row = invocation.getArgument(0);
+            return ProductResponse.builder().productId(String.valueOf(row.getId())).name(row.getName()).build();
+        });
+        exportService = new CatalogExportService(productRepository, productService, transactionManager,
+                new ObjectMapper(), 2);
+    }
+
+    @Test
+    void writeNdjson_ShouldWriteOneObjectPerLineAndCloseTheCursor() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(productRepository.streamListing()).thenReturn(Stream.of(row(1L, "Lamp"), row(2L, "Desk"), row(3L, "Chair"))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long written = exportService.writeNdjson(output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, written);
+        assertEquals(3, lines.length);
+        JsonNode last = new ObjectMapper().readTree(lines[2]);
+        assertEquals("3", last.get("productId").asText());
+        assertEquals("Chair", last.get("name").asText());
+        assertTrue(closed.get());
+    }
+
+    private static ProductListingRow row(Long id, String name) {
+        return new ProductListingRow(id, name, null, BigDecimal.TEN, null, 1, null, null, null);
+    }
+}
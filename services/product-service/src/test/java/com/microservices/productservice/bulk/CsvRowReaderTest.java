@@ -0,0 +1,53 @@
+package com.microservices.productservice.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvRowReaderTest {
+
+    @Test
+    void next_ShouldMapColumnsByHeaderAndHandleQuotedFields() throws Exception {
+        // Arrange
+        String csv = "price,name,description,category\r\n" +
+                "19.99,\"Mug, large\",\"Holds \"\"a lot\"\"\nof coffee\",Kitchen\r\n" +
+                "\n" +
+                "5,Spoon,,\n";
+
+        // Act
+        try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+            ImportRow mug = reader.next();
+            ImportRow spoon = reader.next();
+            ImportRow end = reader.next();
+
+            // Assert
+            assertEquals("Mug, large", mug.getName());
+            assertEquals("Holds \"a lot\"\nof coffee", mug.getDescription());
+            assertEquals("19.99", mug.getPrice());
+            assertEquals("Kitchen", mug.getCategory());
+            assertEquals(2, mug.getLine());
+
+            assertEquals("Spoon", spoon.getName());
+            assertNull(spoon.getDescription());
+            assertNull(spoon.getCategory());
+            assertEquals(5, spoon.getLine());
+
+            assertNull(end);
+        }
+    }
+
+    @Test
+    void next_WithUnterminatedQuote_ShouldFailTheRecord() throws Exception {
+        // Arrange
+        String csv = "name,price\n\"Broken,1\n";
+
+        // Act & Assert
+        try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+            ImportRowException exception = assertThrows(ImportRowException.class, reader::next);
+            assertEquals(2, exception.getLine());
+            assertNull(reader.next());
+        }
+    }
+}
@@ -1,66 +0,0 @@
-package com.microservices.productservice.contract;
-
-import au.com.dius.pact.provider.junit5.HttpTestTarget;
-import au.com.dius.pact.provider.junit5.PactVerificationContext;
-import au.com.dius.pact.provider.junitsupport.Provider;
-import au.com.dius.pact.provider.junitsupport.State;
-import au.com.dius.pact.provider.junitsupport.loader.PactFolder;
-import au.com.dius.pact.provider.spring.junit5.PactVerificationSpringProvider;
-import com.microservices.productservice.ProductServiceApplication;
-import com.microservices.productservice.model.Product;
-import com.microservices.productservice.repository.ProductRepository;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.TestTemplate;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
-
-import java.math.BigDecimal;
-import java.util.Optional;
-
-import static org.mockito.Mockito.when;
-
-@ExtendWith(SpringExtension.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@Provider("product-service")
-@PactFolder("pacts")
-public class ProductServiceProviderTest {
-
-    @LocalServerPort
-    private int port;
-
-    @MockBean
-    private ProductRepository productRepository;
-
-    @BeforeEach
-    void setUp(PactVerificationContext context) {
-        context.setTarget(new HttpTestTarget("localhost", port));
-    }
-
-    @TestTemplate
-    @ExtendWith(PactVerificationSpringProvider.class)
-    void pactVerificationTestTemplate(PactVerificationContext context) {
-        context.verifyInteraction();
-    }
-
-    @State("a product with ID 1 exists")
-    void toProductExistsState() {
-        Product product = Product.builder()
-                .id("1")
-                .name("Test Product")
-                .description("Test Description")
-                .price(new BigDecimal("99.99"))
-                .category("Electronics")
-                .stockQuantity(10)
-                .build();
-
-        when(productRepository.findById("1")).thenReturn(Optional.of(product));
-    }
-
-    @State("no product with ID 999 exists")
-    void toProductDoesNotExistState() {
-        when(productRepository.findById("999")).thenReturn(Optional.empty());
-    }
-}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.microservices.productservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prints the encoded and gzipped size of a listing page in each negotiated format, plus a
+ * rough serialization cost; the JMH PagedProductResponseSerializationBenchmark gives the
+ * precise CPU numbers. Run with ./gradlew benchmarkTest.
+ */
+@Tag("benchmark")
+public class PayloadFormatBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(PayloadFormatBenchmark.class);
+    private static final int[] PAGE_SIZES = {20, 100, 500};
+    private static final int ROUNDS = 2_000;
+
+    @Test
+    void compareFormats() throws Exception {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", new ObjectMapper());
+        formats.put("smile", new ObjectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()));
+        formats.put("cbor", new ObjectMapper(new CBORFactory()));
+
+        for (int pageSize : PAGE_SIZES) {
+            PagedProductResponse page = page(pageSize);
+            int jsonBytes = formats.get("json").writeValueAsBytes(page).length;
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] encoded = mapper.writeValueAsBytes(page);
+                assertEquals(page, mapper.readValue(encoded, PagedProductResponse.class));
+
+                for (int i = 0; i < ROUNDS; i++) {
+                    mapper.writeValueAsBytes(page);
+                }
+                long started = System.nanoTime();
+                for (int i = 0; i < ROUNDS; i++) {
+                    mapper.writeValueAsBytes(page);
+                }
+                double micros = (System.nanoTime() - started) / 1000.0 / ROUNDS;
+
+                log.info("{} at {} items: {} bytes, {} gzipped, {} of json, {} us/page", format.getKey(), pageSize,
+                        encoded.length, gzip(encoded), String.format("%.2f", (double) encoded.length / jsonBytes),
+                        String.format("%.1f", micros));
+                assertTrue(encoded.length <= jsonBytes);
+            }
+        }
+    }
+
+    private static PagedProductResponse page(int pageSize) {
+        long createdAt = 1_704_110_400_000L;
+        List<ProductResponse> items = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            items.add(ProductResponse.builder()
+                    .productId(String.valueOf(100_000 + i))
+                    .name("Wireless Mouse " + i)
+                    .description("Ergonomic wireless mouse with a 2.4 GHz receiver, model " + i)
+                    .price(new BigDecimal("29.99").add(BigDecimal.valueOf(i, 2)))
+                    .category(i % 2 == 0 ? "Electronics" : "Office")
+                    .stockQuantity(i % 11)
+                    .imageUrl("https://cdn.example.com/products/" + i + ".jpg")
+                    .isAvailable(i % 11 != 0)
+                    .createdAt(createdAt + i)
+                    .updatedAt(createdAt + i * 1000L)
+                    .build());
+        }
+        return PagedProductResponse.builder()
+                .items(items)
+                .totalItems(10_000L)
+                .totalPages(10_000 / pageSize)
+                .hasNext(true)
+                .build();
+    }
+
+    private static int gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
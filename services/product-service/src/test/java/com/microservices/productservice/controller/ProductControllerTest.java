@@ -1,7 +1,11 @@
 package com.microservices.productservice.controller;
 
+import com.microservices.productservice.dto.CategoryCatalogResponse;
+import com.microservices.productservice.dto.CategoryStats;
 import com.microservices.productservice.dto.PagedProductResponse;
 import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.service.CategoryCatalogSnapshot;
+import com.microservices.productservice.service.ProductRevision;
 import com.microservices.productservice.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,15 +13,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ProductControllerTest {
@@ -44,17 +56,17 @@ public class ProductControllerTest {
                                 .price(new BigDecimal("99.99"))
                                 .build()
                 ))
-                .totalItems(1)
+                .totalItems(1L)
                 .totalPages(1)
                 .build();
 
-        when(productService.getProducts(any(), any(), any(), any(Integer.class), any(Integer.class), any()))
+        when(productService.getProducts(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any()))
                 .thenReturn(mockResponse);
 
         // Act
         ResponseEntity<PagedProductResponse> response = productController.getProducts(
-                "category", new BigDecimal("0"), new BigDecimal("100"),
-                0, 10, "name");
+                "category", "0", "100",
+                0, 10, "name", null, true, false, null, null, null, null);
 
         // Assert
         assertNotNull(response);
@@ -64,6 +76,43 @@ public class ProductControllerTest {
         assertEquals(1, response.getBody().getItems().size());
     }
 
+    @Test
+    void getProducts_ShouldParsePriceBoundsToMinorUnits() {
+        // Arrange
+        when(productService.getProducts(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any()))
+                .thenReturn(PagedProductResponse.builder().build());
+
+        // Act
+        productController.getProducts(null, "5.001", "19.999", 0, 10, "price", null, true, false, null, null, null,
+                null);
+
+        // Assert
+        verify(productService).getProducts(any(), eq(501L), eq(1999L), eq(0), eq(10), eq("price"), any(), any(), any());
+    }
+
+    @Test
+    void getProducts_WithMalformedPriceBound_ShouldRejectWithBadRequest() {
+        // Act
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> productController
+                .getProducts(null, "abc", "100", 0, 10, "name", null, true, false, null, null, null, null));
+
+        // Assert
+        assertEquals(400, rejected.getStatusCode().value());
+        verify(productService, never()).getProducts(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    void getProducts_WithPriceBoundBeyondLongRange_ShouldRejectWithBadRequest() {
+        // Act
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> productController
+                .getProducts(null, "0", "99999999999999999999", 0, 10, "name", null, true, false, null, null, null,
+                        null));
+
+        // Assert
+        assertEquals(400, rejected.getStatusCode().value());
+    }
+
     @Test
     void getProductById_ShouldReturnProduct() {
         // Arrange
@@ -76,7 +125,7 @@ public class ProductControllerTest {
         when(productService.getProductById("1")).thenReturn(mockProduct);
 
         // Act
-        ResponseEntity<ProductResponse> response = productController.getProductById("1");
+        ResponseEntity<ProductResponse> response = productController.getProductById("1", null, null, null, null, null);
 
         // Assert
         assertNotNull(response);
@@ -86,18 +135,142 @@ public class ProductControllerTest {
     }
 
     @Test
-    void getCategories_ShouldReturnCategoriesList() {
+    void getProducts_WithCurrentEtag_ShouldReturnNotModifiedWithoutListing() {
         // Arrange
-        List<String> mockCategories = Arrays.asList("Electronics", "Books");
-        when(productService.getCategories()).thenReturn(mockCategories);
+        when(productService.getListingEtag(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any()))
+                .thenReturn("\"listing-v1\"");
 
         // Act
-        ResponseEntity<Map<String, List<String>>> response = productController.getCategories();
+        ResponseEntity<PagedProductResponse> response = productController.getProducts(
+                null, "0", "100",
+                0, 10, "name", null, true, false, null, "\"listing-v1\"", null, null);
+
+        // Assert
+        assertEquals(304, response.getStatusCode().value());
+        verify(productService, never()).getProducts(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void getProducts_WithoutIfNoneMatch_ShouldNotReadCatalogVersion() {
+        // Arrange
+        when(productService.peekListingEtag(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any()))
+                .thenReturn(null);
+        when(productService.getProducts(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any()))
+                .thenReturn(PagedProductResponse.builder().build());
+
+        // Act
+        ResponseEntity<PagedProductResponse> response = productController.getProducts(
+                null, "0", "100",
+                0, 10, "name", null, true, false, null, null, null, null);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertNull(response.getHeaders().getETag());
+        verify(productService, never()).getListingEtag(any(), anyLong(), anyLong(), any(Integer.class), any(Integer.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void getProductById_WithCurrentEtag_ShouldReturnNotModifiedWithoutMapping() {
+        // Arrange
+        ProductRevision revision = new ProductRevision("\"1-1700000000000\"", 1700000000000L);
+        when(productService.getProductRevision("1")).thenReturn(revision);
+
+        // Act
+        ResponseEntity<ProductResponse> response = productController.getProductById(
+                "1", null, revision.etag(), null, null, null);
+
+        // Assert
+        assertEquals(304, response.getStatusCode().value());
+        assertEquals(revision.etag(), response.getHeaders().getETag());
+        verify(productService, never()).getProductById(any());
+    }
+
+    @Test
+    void getProductById_NotModifiedSince_ShouldReturnNotModified() {
+        // Arrange
+        ProductRevision revision = new ProductRevision("\"1-1700000000000\"", 1700000000000L);
+        when(productService.getProductRevision("1")).thenReturn(revision);
+
+        // Act
+        ResponseEntity<ProductResponse> response = productController.getProductById(
+                "1", null, null, "Tue, 14 Nov 2023 22:13:20 GMT", null, null);
+
+        // Assert
+        assertEquals(304, response.getStatusCode().value());
+    }
+
+    @Test
+    void getCategories_ShouldReturnCatalogWithEtag() {
+        // Arrange
+        CategoryCatalogSnapshot catalog = catalogOf("Electronics", "Books");
+        when(productService.getCategoryCatalog()).thenReturn(catalog);
+
+        // Act
+        ResponseEntity<CategoryCatalogResponse> response = productController.getCategories(null, null, null);
 
         // Assert
         assertNotNull(response);
-        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(200, response.getStatusCode().value());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().get("categories").size());
+        assertEquals(2, response.getBody().getCategories().size());
+        assertEquals(catalog.getEtag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    void getCategories_WhenClientAcceptsGzip_ShouldUseWeakEtag() {
+        // Arrange
+        CategoryCatalogSnapshot catalog = catalogOf("Electronics", "Books");
+        when(productService.getCategoryCatalog()).thenReturn(catalog);
+
+        // Act
+        ResponseEntity<CategoryCatalogResponse> compressible = productController.getCategories(
+                null, null, "gzip, deflate, br");
+        ResponseEntity<CategoryCatalogResponse> refused = productController.getCategories(
+                null, null, "gzip;q=0, identity");
+        ResponseEntity<CategoryCatalogResponse> revalidated = productController.getCategories(
+                catalog.getEtag(), null, "gzip");
+
+        // Assert
+        assertEquals("W/" + catalog.getEtag(), compressible.getHeaders().getETag());
+        assertEquals(catalog.getEtag(), refused.getHeaders().getETag());
+        assertEquals(304, revalidated.getStatusCode().value());
+    }
+
+    @Test
+    void getCategories_ForSmile_ShouldNotMatchJsonEtag() {
+        // Arrange
+        CategoryCatalogSnapshot catalog = catalogOf("Electronics", "Books");
+        when(productService.getCategoryCatalog()).thenReturn(catalog);
+
+        // Act
+        ResponseEntity<CategoryCatalogResponse> response = productController.getCategories(
+                "W/" + catalog.getEtag(), "application/x-jackson-smile", null);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(response.getHeaders().getETag().endsWith("-smile\""));
+    }
+
+    @Test
+    void getCategories_WithCurrentEtag_ShouldReturnNotModified() {
+        // Arrange
+        CategoryCatalogSnapshot catalog = catalogOf("Electronics", "Books");
+        when(productService.getCategoryCatalog()).thenReturn(catalog);
+
+        // Act
+        ResponseEntity<CategoryCatalogResponse> response = productController.getCategories(catalog.getEtag(), null, null);
+
+        // Assert
+        assertEquals(304, response.getStatusCode().value());
+        assertNull(response.getBody());
+    }
+
+    private CategoryCatalogSnapshot catalogOf(String... names) {
+        Map<Long, CategoryStats> stats = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            long id = i + 1;
+            stats.put(id, new CategoryStats(id, names[i], 3, new BigDecimal("1.00"), new BigDecimal("9.00")));
+        }
+        return CategoryCatalogSnapshot.of(1, stats);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.microservices.productservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource pool;
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(meterRegistry, 1, Duration.ofMillis(50));
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            when(connection.createStatement()).thenReturn(mock(Statement.class));
+            return connection;
+        });
+        dataSource = new BulkheadDataSource(pool, () -> bulkhead);
+    }
+
+    @Test
+    void getConnection_ShouldHoldPermitUntilClosedOnce() throws SQLException {
+        // Act
+        Connection connection = dataSource.getConnection();
+        double heldWhileOpen = available();
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(0, heldWhileOpen);
+        assertEquals(1, available());
+    }
+
+    @Test
+    void getConnection_WhilePermitHeld_ShouldRejectOtherThreads() throws Exception {
+        // Arrange
+        Connection held = dataSource.getConnection();
+
+        // Act
+        CompletableFuture<Connection> other = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> other.get(5, TimeUnit.SECONDS));
+        held.close();
+
+        // Assert
+        assertEquals("Database is busy, try again later", rejected.getCause().getMessage());
+        assertEquals(1, meterRegistry.get("product.db.bulkhead.rejected").counter().count());
+        assertEquals(1, available());
+    }
+
+    @Test
+    void getConnection_OnThreadAlreadyHoldingPermit_ShouldNotWait() throws SQLException {
+        // Arrange
+        Connection outer = dataSource.getConnection();
+
+        // Act
+        Connection inner = dataSource.getConnection();
+        inner.close();
+        double heldAfterInner = available();
+        outer.close();
+
+        // Assert
+        assertEquals(0, heldAfterInner);
+        assertEquals(1, available());
+        assertEquals(0, meterRegistry.get("product.db.bulkhead.rejected").counter().count());
+    }
+
+    @Test
+    void jdbcTemplate_ShouldTakeAndReturnPermitLikeRepositoryCalls() throws SQLException {
+        // Act
+        new JdbcTemplate(dataSource).execute("SELECT 1");
+
+        // Assert
+        verify(pool).getConnection();
+        assertEquals(1, available());
+        assertEquals(1, meterRegistry.get("product.db.bulkhead.wait").timer().count());
+    }
+
+    @Test
+    void getConnection_WhenPoolFails_ShouldReturnPermit() throws SQLException {
+        // Arrange
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // Act
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        // Assert
+        assertEquals(1, available());
+    }
+
+    private double available() {
+        return meterRegistry.get("product.db.bulkhead.available").gauge().value();
+    }
+}
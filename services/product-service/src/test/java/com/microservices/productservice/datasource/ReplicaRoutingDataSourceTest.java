@@ -0,0 +1,203 @@
+package com.microservices.productservice.datasource;
+
+import com.microservices.productservice.model.event.ProductEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource primary;
+    private Map<String, DataSource> replicas;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", node("replica-0"));
+        replicas.put("replica-1", node("replica-1"));
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRoundRobinAcrossReplicas() {
+        // Arrange
+        ReplicaSelector selector = selector(Duration.ZERO);
+        selector.checkReplicas();
+        Routed routed = new Routed(selector);
+
+        // Act
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(routed.read(true));
+        }
+
+        // Assert
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"), nodes);
+        assertEquals(2, meterRegistry.get("product.datasource.reads").tag("target", "replica-1").counter().count());
+    }
+
+    @Test
+    void writableTransactionsAndPlainStatements_ShouldUsePrimary() {
+        // Arrange
+        ReplicaSelector selector = selector(Duration.ZERO);
+        selector.checkReplicas();
+        Routed routed = new Routed(selector);
+
+        // Act & Assert
+        assertEquals("primary", routed.read(false));
+        assertEquals("primary", routed.jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void staleReplicas_ShouldBeSkippedThenFallBackToPrimary() {
+        // Arrange
+        ReplicaSelector selector = selector(Duration.ZERO);
+        Routed routed = new Routed(selector);
+        lag(replicas.get("replica-0"), 10);
+        selector.checkReplicas();
+
+        // Act & Assert
+        assertEquals("replica-1", routed.read(true));
+        assertEquals("replica-1", routed.read(true));
+
+        lag(replicas.get("replica-1"), 10);
+        selector.checkReplicas();
+        assertEquals("primary", routed.read(true));
+        assertEquals(1, meterRegistry.get("product.datasource.fallback").tag("reason", "stale").counter().count());
+        assertEquals(10, meterRegistry.get("product.datasource.replica.lag").tag("target", "replica-1").gauge().value());
+    }
+
+    @Test
+    void unhealthyReplica_ShouldBeRoutedAroundUntilItRecovers() {
+        // Arrange
+        ReplicaSelector selector = selector(Duration.ZERO);
+        Routed routed = new Routed(selector);
+        new JdbcTemplate(replicas.get("replica-0")).execute("DROP TABLE replica_lag");
+        selector.checkReplicas();
+
+        // Act & Assert
+        assertEquals("replica-1", routed.read(true));
+        assertEquals("replica-1", routed.read(true));
+        assertEquals(0, meterRegistry.get("product.datasource.replica.healthy").tag("target", "replica-0").gauge().value());
+
+        createLagTable(new JdbcTemplate(replicas.get("replica-0")));
+        selector.checkReplicas();
+        assertEquals(List.of("replica-0", "replica-1"), List.of(routed.read(true), routed.read(true)));
+    }
+
+    @Test
+    void beforeFirstHealthCheck_ShouldReadFromPrimary() {
+        // Arrange
+        Routed routed = new Routed(selector(Duration.ZERO));
+
+        // Act & Assert
+        assertEquals("primary", routed.read(true));
+    }
+
+    @Test
+    void productEvent_ShouldPinListenerReloadsOnTheEventThread() {
+        // Arrange
+        ReplicaSelector selector = selector(Duration.ofMinutes(1));
+        selector.checkReplicas();
+        Routed routed = new Routed(selector);
+        ProductEvent event = ProductEvent.builder().productId("1").remote(true).build();
+
+        // Act
+        selector.onProductEvent(event);
+        String duringListeners = routed.read(true);
+        selector.afterProductEvent(event);
+        String afterListeners = routed.read(true);
+
+        // Assert
+        assertEquals("primary", duringListeners);
+        assertEquals("replica-0", afterListeners);
+        assertEquals(1, meterRegistry.get("product.datasource.fallback").tag("reason", "pinned").counter().count());
+    }
+
+    @Test
+    void unrelatedWrites_ShouldNotStopReplicaReads() throws Exception {
+        // Arrange
+        ReplicaSelector selector = selector(Duration.ofMinutes(1));
+        selector.checkReplicas();
+        Routed routed = new Routed(selector);
+        Thread writer = new Thread(() -> {
+            ProductEvent event = ProductEvent.builder().productId("1").build();
+            selector.onProductEvent(event);
+            selector.afterProductEvent(event);
+        });
+        writer.start();
+        writer.join();
+
+        // Act
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            nodes.add(routed.read(true));
+        }
+        String otherProduct = ReplicaSelector.readingProduct(2L, () -> routed.read(true));
+        String writtenProduct = ReplicaSelector.readingProduct(1L, () -> routed.read(true));
+
+        // Assert
+        assertEquals(List.of("replica-0", "replica-1"), nodes);
+        assertEquals("replica-0", otherProduct);
+        assertEquals("primary", writtenProduct);
+    }
+
+    private ReplicaSelector selector(Duration pinAfterWrite) {
+        return new ReplicaSelector(replicas, LAG_QUERY, Duration.ofSeconds(2), pinAfterWrite, Duration.ofSeconds(1),
+                meterRegistry);
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        createLagTable(jdbcTemplate);
+        return dataSource;
+    }
+
+    private static void createLagTable(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+    }
+
+    private static void lag(DataSource replica, double seconds) {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = ?", seconds);
+    }
+
+    private class Routed {
+        private final JdbcTemplate jdbcTemplate;
+        private final DataSourceTransactionManager transactionManager;
+
+        Routed(ReplicaSelector selector) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, selector));
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionManager = new DataSourceTransactionManager(dataSource);
+        }
+
+        String read(boolean readOnly) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(readOnly);
+            return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
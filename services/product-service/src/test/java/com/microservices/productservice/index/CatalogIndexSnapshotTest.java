@@ -0,0 +1,148 @@
+package com.microservices.productservice.index;
+
+import com.microservices.productservice.dto.ProductIndexEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogIndexSnapshotTest {
+
+    private CatalogIndexSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CatalogIndexSnapshot.build(List.of(
+                new ProductIndexEntry(1L, "Laptop", "Electronics", new BigDecimal("999.00")),
+                new ProductIndexEntry(2L, "Cable", "Electronics", new BigDecimal("5.50")),
+                new ProductIndexEntry(3L, "Novel", "Books", new BigDecimal("12.99")),
+                new ProductIndexEntry(4L, "Charger", "Electronics", new BigDecimal("25.00")),
+                new ProductIndexEntry(5L, "Atlas", "Books", new BigDecimal("45.00")),
+                new ProductIndexEntry(6L, "Adapter", "Electronics", new BigDecimal("12.99"))));
+    }
+
+    @Test
+    void query_ByCategoryAndPriceRange_ShouldReturnExactCountAndPriceOrder() {
+        // Act
+        CatalogIndexPage page = snapshot.query("Electronics", 550, 10_000,
+                "price", 0, 10);
+
+        // Assert
+        assertEquals(3, page.totalItems());
+        assertEquals(List.of(2L, 6L, 4L), page.productIds());
+    }
+
+    @Test
+    void query_DescendingPriceWithOffset_ShouldPageFromTheTop() {
+        // Act
+        CatalogIndexPage page = snapshot.query(null, 0, 99_999_999_900L,
+                "-price", 1, 2);
+
+        // Assert
+        assertEquals(6, page.totalItems());
+        assertEquals(List.of(5L, 4L), page.productIds());
+    }
+
+    @Test
+    void query_EqualCentsAfterRounding_ShouldBreakTiesById() {
+        // Arrange
+        CatalogIndexSnapshot rounded = CatalogIndexSnapshot.build(List.of(
+                new ProductIndexEntry(1L, "Bolt", "Hardware", new BigDecimal("1.004")),
+                new ProductIndexEntry(2L, "Nut", "Hardware", new BigDecimal("1.001"))));
+
+        // Act
+        CatalogIndexPage page = rounded.query(null, 0, 1_000, "price", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), page.productIds());
+    }
+
+    @Test
+    void count_ShouldMatchQueryTotalsForAnyFilter() {
+        assertEquals(3, snapshot.count("Electronics", 550, 10_000));
+        assertEquals(2, snapshot.count("Books", 0, 99_999_999_900L));
+        assertEquals(2, snapshot.count(null, 1_299, 1_299));
+        assertEquals(0, snapshot.count("Garden", 0, 1_000));
+        assertEquals(0, snapshot.count(null, 5_000, 100));
+    }
+
+    @Test
+    void query_UnknownCategoryOrUnsupportedSort_ShouldHandleGracefully() {
+        assertEquals(0, snapshot.query("Garden", 0, 1_000, "price", 0, 10).totalItems());
+        assertNull(snapshot.query(null, 0, 1_000, "createdAt", 0, 10));
+        assertNull(snapshot.query("Electronics", 0, 10_000, "name", 0, 10));
+    }
+
+    @Test
+    void apply_ShouldMovePatchedAndRemovedEntries() {
+        // Act
+        CatalogIndexSnapshot patched = snapshot.apply(
+                List.of(new ProductIndexEntry(1L, "Laptop", "Electronics", new BigDecimal("999.00")),
+                        new ProductIndexEntry(3L, "Novel", "Books", new BigDecimal("12.99"))),
+                List.of(new ProductIndexEntry(1L, "Laptop", "Books", new BigDecimal("1.00")),
+                        new ProductIndexEntry(7L, "Mouse", "Electronics", new BigDecimal("20.00"))));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 6L, 7L, 4L, 5L), patched.query(null, 0, 99_999_999_900L, "price", 0, 10).productIds());
+        assertEquals(List.of(1L, 5L), patched.query("Books", 0, 99_999_999_900L, "price", 0, 10).productIds());
+        assertEquals(List.of(2L, 6L, 7L, 4L), patched.query("Electronics", 0, 99_999_999_900L, "price", 0, 10).productIds());
+        assertEquals(6, snapshot.size());
+    }
+
+    @Test
+    void apply_ShouldAnswerLikeAFullRebuild() {
+        // Arrange
+        Random random = new Random(42);
+        List<String> categories = Arrays.asList("Books", "Electronics", "Garden", null);
+        Map<Long, ProductIndexEntry> entries = new HashMap<>();
+        for (long id = 1; id <= 5_000; id++) {
+            entries.put(id, randomEntry(random, id, categories));
+        }
+        CatalogIndexSnapshot patched = CatalogIndexSnapshot.build(entries.values());
+
+        // Act
+        for (int round = 0; round < 20; round++) {
+            // Like a refresh: the published entry and the latest one for each changed product
+            List<ProductIndexEntry> removed = new ArrayList<>();
+            Set<Long> changed = new HashSet<>();
+            for (int i = 0; i < 50; i++) {
+                long id = 1 + random.nextInt(5_500);
+                ProductIndexEntry previous = random.nextInt(5) == 0
+                        ? entries.remove(id)
+                        : entries.put(id, randomEntry(random, id, categories));
+                if (changed.add(id) && previous != null) {
+                    removed.add(previous);
+                }
+            }
+            List<ProductIndexEntry> added = changed.stream().map(entries::get).filter(Objects::nonNull).toList();
+            patched = patched.apply(removed, added);
+        }
+        CatalogIndexSnapshot rebuilt = CatalogIndexSnapshot.build(entries.values());
+
+        // Assert
+        assertEquals(rebuilt.size(), patched.size());
+        for (String category : categories) {
+            for (String sort : List.of("price", "-price")) {
+                assertEquals(rebuilt.query(category, 2_000, 80_000, sort, 0, 10_000),
+                        patched.query(category, 2_000, 80_000, sort, 0, 10_000));
+            }
+            assertEquals(rebuilt.count(category, 0, 99_999_999_900L), patched.count(category, 0, 99_999_999_900L));
+        }
+    }
+
+    private static ProductIndexEntry randomEntry(Random random, long id, List<String> categories) {
+        return new ProductIndexEntry(id, "Item " + id, categories.get(random.nextInt(categories.size())),
+                BigDecimal.valueOf(random.nextInt(100_000), 2));
+    }
+}
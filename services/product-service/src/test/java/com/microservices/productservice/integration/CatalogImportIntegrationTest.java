@@ -0,0 +1,99 @@
+package com.microservices.productservice.integration;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.bulk.CatalogImportFormat;
+import com.microservices.productservice.bulk.CatalogImportService;
+import com.microservices.productservice.dto.CatalogImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ProductServiceApplication.class, properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.import.chunk-size=1000"
+})
+@EmbeddedKafka(partitions = 1, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@Testcontainers(disabledWithoutDocker = true)
+public class CatalogImportIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportIntegrationTest.class);
+
+    private static final int ROWS = 20_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM product_images");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void importCatalog_ShouldWriteValidRowsAndReportBadOnes() throws Exception {
+        // Given
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            if (i % 1000 == 999) {
+                ndjson.append("{\"name\": \"Broken ").append(i).append("\", \"price\": \"n/a\"}\n");
+            } else {
+                ndjson.append("{\"name\": \"Item ").append(i)
+                        .append("\", \"price\": ").append(i % 100).append(".50")
+                        .append(", \"category\": \"Category ").append(i % 7)
+                        .append("\", \"inventoryCount\": 3")
+                        .append(i % 2 == 0 ? ", \"imageUrl\": \"https://img/" + i + ".jpg\"" : "")
+                        .append("}\n");
+            }
+        }
+        ndjson.append("{not json\n");
+
+        // When
+        CatalogImportReport report = catalogImportService.importCatalog(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), CatalogImportFormat.NDJSON);
+        log.info("Imported {} rows at {} rows/s", report.getRowsImported(), Math.round(report.getRowsPerSecond()));
+
+        // Then
+        assertEquals(ROWS + 1, report.getRowsRead());
+        assertEquals(ROWS - ROWS / 1000, report.getRowsImported());
+        assertEquals(ROWS / 1000 + 1, report.getRowsFailed());
+        assertEquals(7, report.getCategoriesCreated());
+        assertEquals(1000, report.getChunks().get(0).getImported() + report.getChunks().get(0).getFailed());
+        assertEquals(1000, report.getChunks().get(0).getErrors().get(0).getLine());
+
+        assertEquals(ROWS - ROWS / 1000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class));
+        assertEquals(ROWS / 2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_images", Long.class));
+        assertEquals(7, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class));
+
+        // Ids came from the identity sequence, so JPA inserts keep working afterwards
+        jdbcTemplate.update("INSERT INTO products (name, price, price_cents, inventory_count) VALUES ('After import', 1, 100, 0)");
+    }
+}
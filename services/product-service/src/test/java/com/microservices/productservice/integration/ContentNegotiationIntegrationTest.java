@@ -0,0 +1,121 @@
+package com.microservices.productservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = ProductServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "eureka.client.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "product.index.enabled=false"
+        })
+@EmbeddedKafka(partitions = 1, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class ContentNegotiationIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeProductInRequestedFormat() throws Exception {
+        // Given
+        Product product = productRepository.save(Product.builder()
+                .name("Keyboard")
+                .price(new BigDecimal("79.90"))
+                .inventoryCount(4)
+                .build());
+        String url = "http://localhost:" + port + "/api/v1/products/" + product.getId();
+
+        // When
+        HttpResponse<byte[]> json = get(url, "application/json", null);
+        HttpResponse<byte[]> smile = get(url, "application/x-jackson-smile", null);
+        HttpResponse<byte[]> cbor = get(url, "application/cbor", null);
+        HttpResponse<byte[]> any = get(url, "*/*", null);
+
+        // Then
+        ProductResponse expected = new ObjectMapper().readValue(json.body(), ProductResponse.class);
+        assertEquals("application/x-jackson-smile", contentType(smile));
+        assertEquals(expected, new ObjectMapper(new SmileFactory()).readValue(smile.body(), ProductResponse.class));
+        assertEquals("application/cbor", contentType(cbor));
+        assertEquals(expected, new ObjectMapper(new CBORFactory()).readValue(cbor.body(), ProductResponse.class));
+        assertEquals("application/json", contentType(any));
+        assertTrue(smile.body().length < json.body().length);
+        assertEquals(new BigDecimal("79.90"), expected.getPrice());
+    }
+
+    @Test
+    void shouldCompressLargeListingsOnlyAboveThreshold() throws Exception {
+        // Given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(Product.builder()
+                    .name("Notebook " + i)
+                    .description("Dotted notebook, 120 pages, model " + i)
+                    .price(new BigDecimal("4.50"))
+                    .inventoryCount(10)
+                    .build());
+        }
+        productRepository.saveAll(products);
+        String base = "http://localhost:" + port + "/api/v1/products";
+
+        // When
+        HttpResponse<byte[]> large = get(base + "?size=100", "application/json", "gzip");
+        HttpResponse<byte[]> small = get(base + "?size=1&includeTotals=false", "application/json", "gzip");
+
+        // Then
+        assertEquals("gzip", large.headers().firstValue("Content-Encoding").orElse(null));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.body()))) {
+            PagedProductResponse page = new ObjectMapper().readValue(in, PagedProductResponse.class);
+            assertEquals(100, page.getItems().size());
+        }
+        assertTrue(small.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    private HttpResponse<byte[]> get(String url, String accept, String encoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).header("Accept", accept);
+        if (encoding != null) {
+            request.header("Accept-Encoding", encoding);
+        }
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").orElse("").split(";")[0];
+    }
+}
@@ -0,0 +1,162 @@
+package com.microservices.productservice.integration;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.dto.ReservationResponse;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.model.ReservationStatus;
+import com.microservices.productservice.repository.InventoryReservationRepository;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.InventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ProductServiceApplication.class, properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "product.inventory.sweep-interval=PT0.2S"
+})
+@EmbeddedKafka(partitions = 1, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@Testcontainers(disabledWithoutDocker = true)
+public class InventoryReservationStressTest {
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationStressTest.class);
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @AfterEach
+    void cleanup() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void reserve_OnHotSkus_ShouldNeverOversellAndReturnReleasedStock() throws Exception {
+        // Arrange
+        List<Long> skus = List.of(save("Console", 500), save("Controller", 100), save("Headset", 1));
+        ConcurrentLinkedQueue<ReservationResponse> held = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    Long sku = skus.get((thread + attempt) % skus.size());
+                    ReservationResponse response = inventoryService.reserve(String.valueOf(sku), 1, null);
+                    if (response.isAccepted()) {
+                        held.add(response);
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        executor.shutdown();
+
+        // Assert
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("{} reservation attempts in {} ms ({}/s), {} held, {} rejected",
+                attempts, elapsedMillis, Math.round(attempts * 1000.0 / elapsedMillis), held.size(), rejected.get());
+
+        assertEquals(601, held.size());
+        assertEquals(attempts - 601, rejected.get());
+        for (Long sku : skus) {
+            assertEquals(0, productRepository.findInventoryCountById(sku).orElseThrow());
+        }
+
+        // Release one hold per SKU, confirm the rest of the console holds
+        ReservationResponse headset = held.stream()
+                .filter(r -> r.getProductId().equals(String.valueOf(skus.get(2))))
+                .findFirst().orElseThrow();
+        assertTrue(inventoryService.release(headset.getReservationId()).isAccepted());
+        assertFalse(inventoryService.release(headset.getReservationId()).isAccepted());
+        assertFalse(inventoryService.confirm(headset.getReservationId()).isAccepted());
+        assertEquals(1, productRepository.findInventoryCountById(skus.get(2)).orElseThrow());
+        assertTrue(inventoryService.reserve(String.valueOf(skus.get(2)), 1, null).isAccepted());
+        assertFalse(inventoryService.reserve(String.valueOf(skus.get(2)), 1, null).isAccepted());
+    }
+
+    @Test
+    void expireHolds_ShouldReturnStockFromLapsedReservations() throws Exception {
+        // Arrange
+        Long sku = save("Lamp", 2);
+        ReservationResponse hold = inventoryService.reserve(String.valueOf(sku), 2, 1L);
+        assertTrue(hold.isAccepted());
+        assertFalse(inventoryService.reserve(String.valueOf(sku), 1, null).isAccepted());
+
+        // Act
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (productRepository.findInventoryCountById(sku).orElseThrow() == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        // Assert
+        assertEquals(2, productRepository.findInventoryCountById(sku).orElseThrow());
+        assertEquals(ReservationStatus.EXPIRED, inventoryService.getReservation(hold.getReservationId()).getStatus());
+        assertFalse(inventoryService.confirm(hold.getReservationId()).isAccepted());
+        assertTrue(inventoryService.reserve(String.valueOf(sku), 2, null).isAccepted());
+    }
+
+    private Long save(String name, int inventory) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(new BigDecimal("49.00"))
+                .inventoryCount(inventory)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,201 @@
+package com.microservices.productservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.model.event.OrderCreatedEvent;
+import com.microservices.productservice.model.event.OrderStatusChangedEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.OrderInventoryBatchResult;
+import com.microservices.productservice.service.OrderInventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = ProductServiceApplication.class, properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.orders.offset-reset=earliest"
+})
+@EmbeddedKafka(partitions = 3, topics = {"product-events", "order.created", "order.status_changed"},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class OrderInventoryConsumerIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(OrderInventoryConsumerIntegrationTest.class);
+
+    private static final int PRODUCTS = 50;
+    private static final int ORDERS = 20_000;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderInventoryService orderInventoryService;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM order_inventory_allocations");
+        jdbcTemplate.update("DELETE FROM processed_order_events");
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldApplyOrderEventsOnceAndRestoreCancelledOrders() throws Exception {
+        // Given
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productRepository.save(Product.builder()
+                    .name("Product " + i)
+                    .price(new BigDecimal("10.00"))
+                    .inventoryCount(INITIAL_STOCK)
+                    .build()).getId());
+        }
+
+        long[] expected = new long[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            expected[i] = INITIAL_STOCK;
+        }
+
+        // When
+        long started = System.nanoTime();
+        int sent = 0;
+        for (int order = 0; order < ORDERS; order++) {
+            String orderId = "order-" + order;
+            int first = order % PRODUCTS;
+            int second = (order * 7 + 3) % PRODUCTS;
+            OrderCreatedEvent created = OrderCreatedEvent.builder()
+                    .orderId(orderId)
+                    .userId("user-" + (order % 100))
+                    .items(List.of(
+                            new OrderCreatedEvent.Item(String.valueOf(productIds.get(first)), 2),
+                            new OrderCreatedEvent.Item(String.valueOf(productIds.get(second)), 1)))
+                    .build();
+            String payload = objectMapper.writeValueAsString(created);
+            kafkaTemplate.send("order.created", orderId, payload);
+            sent++;
+
+            boolean cancelled = order % 10 == 0;
+            if (cancelled) {
+                kafkaTemplate.send("order.status_changed", orderId, objectMapper.writeValueAsString(
+                        new OrderStatusChangedEvent(orderId, OrderStatusChangedEvent.CANCELLED, "PENDING")));
+                sent++;
+            } else {
+                expected[first] -= 2;
+                expected[second] -= 1;
+            }
+
+            // Broker redelivery: every 25th order arrives twice
+            if (order % 25 == 0) {
+                kafkaTemplate.send("order.created", orderId, payload);
+                sent++;
+            }
+        }
+        kafkaTemplate.flush();
+
+        // Then
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (processedEvents() < ORDERS + ORDERS / 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Applied {} order events in {} ms ({} events/s)",
+                sent, elapsedMillis, Math.round(sent * 1000.0 / elapsedMillis));
+
+        assertEquals(ORDERS + ORDERS / 10, processedEvents());
+        for (int i = 0; i < PRODUCTS; i++) {
+            assertEquals(expected[i], (long) productRepository.findInventoryCountById(productIds.get(i)).orElseThrow(),
+                    "inventory of product " + i);
+        }
+    }
+
+    @Test
+    void shouldRejectTakesThatWouldDriveStockBelowZero() {
+        // Given
+        Long productId = productRepository.save(Product.builder()
+                .name("Last Units")
+                .price(new BigDecimal("10.00"))
+                .inventoryCount(3)
+                .build()).getId();
+
+        // When
+        OrderInventoryBatchResult placed = orderInventoryService.apply(List.of(
+                created("order-a", productId, 2),
+                created("order-b", productId, 2)));
+        long afterPlaced = productRepository.findInventoryCountById(productId).orElseThrow();
+        orderInventoryService.apply(List.of(
+                new OrderStatusChangedEvent("order-b", OrderStatusChangedEvent.CANCELLED, "PENDING")));
+        long afterRejectedCancelled = productRepository.findInventoryCountById(productId).orElseThrow();
+        orderInventoryService.apply(List.of(
+                new OrderStatusChangedEvent("order-a", OrderStatusChangedEvent.CANCELLED, "PENDING")));
+
+        // Then
+        assertEquals(2, placed.applied());
+        assertEquals(1, placed.rejected());
+        assertEquals(1, afterPlaced);
+        assertEquals(1, afterRejectedCancelled);
+        assertEquals(3, (long) productRepository.findInventoryCountById(productId).orElseThrow());
+    }
+
+    @Test
+    void shouldNetCancellationsAgainstNewOrdersForTheSameProduct() {
+        // Given
+        Long netted = productRepository.save(Product.builder()
+                .name("Swapped")
+                .price(new BigDecimal("10.00"))
+                .inventoryCount(3)
+                .build()).getId();
+        Long tight = productRepository.save(Product.builder()
+                .name("Tight")
+                .price(new BigDecimal("10.00"))
+                .inventoryCount(3)
+                .build()).getId();
+        orderInventoryService.apply(List.of(created("order-a", netted, 2), created("order-b", tight, 3)));
+
+        // When
+        OrderInventoryBatchResult result = orderInventoryService.apply(List.of(
+                new OrderStatusChangedEvent("order-a", OrderStatusChangedEvent.CANCELLED, "PENDING"),
+                created("order-c", netted, 2),
+                new OrderStatusChangedEvent("order-b", OrderStatusChangedEvent.CANCELLED, "PENDING"),
+                created("order-d", tight, 3)));
+
+        // Then
+        assertEquals(0, result.rejected());
+        assertEquals(Set.of(), result.updatedProductIds());
+        assertEquals(1, (long) productRepository.findInventoryCountById(netted).orElseThrow());
+        assertEquals(0, (long) productRepository.findInventoryCountById(tight).orElseThrow());
+    }
+
+    private static OrderCreatedEvent created(String orderId, Long productId, int quantity) {
+        return OrderCreatedEvent.builder()
+                .orderId(orderId)
+                .userId("user-1")
+                .items(List.of(new OrderCreatedEvent.Item(String.valueOf(productId), quantity)))
+                .build();
+    }
+
+    private long processedEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_order_events", Long.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.microservices.productservice.integration;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.messaging.OutboxRelay;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = ProductServiceApplication.class, properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.outbox.poll-interval=PT0.05S"
+})
+@EmbeddedKafka(partitions = 3, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldWriteOutboxRowOnlyWhenProductChangeCommits() {
+        // Given / When
+        Integer inTransaction = transactionTemplate.execute(status -> {
+            productRepository.save(Product.builder()
+                    .name("Rolled Back")
+                    .price(new BigDecimal("1.00"))
+                    .inventoryCount(1)
+                    .build());
+            status.setRollbackOnly();
+            return jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM product_outbox WHERE payload LIKE '%ProductCreated%'", Integer.class);
+        });
+
+        // Then
+        assertEquals(1, inTransaction);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_outbox WHERE payload LIKE '%ProductCreated%'", Integer.class));
+    }
+
+    @Test
+    void shouldRelayEventsKeyedByProductInCommitOrder() throws Exception {
+        // Given
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-relay-test", "false", embeddedKafka);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "product-events");
+
+        // When
+        Long id = productRepository.save(Product.builder()
+                .name("Lamp")
+                .price(new BigDecimal("39.00"))
+                .inventoryCount(3)
+                .build()).getId();
+        Product product = productRepository.findById(id).orElseThrow();
+        product.setName("Desk Lamp");
+        productRepository.save(product);
+        String productId = String.valueOf(id);
+
+        // Then
+        List<ConsumerRecord<String, String>> received = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (received.size() < 2 && System.currentTimeMillis() < deadline) {
+            for (ConsumerRecord<String, String> record : KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500))) {
+                if (productId.equals(record.key())) {
+                    received.add(record);
+                }
+            }
+        }
+        consumer.close();
+
+        assertEquals(2, received.size());
+        assertEquals(received.get(0).partition(), received.get(1).partition());
+        assertTrue(received.get(0).value().contains("ProductCreated"));
+        assertTrue(received.get(1).value().contains("ProductUpdated"));
+        assertNotNull(received.get(0).headers().lastHeader(OutboxRelay.EVENT_ID_HEADER));
+
+        deadline = System.currentTimeMillis() + 5_000;
+        while (countPending(productId) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, countPending(productId));
+    }
+
+    private int countPending(String productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_outbox WHERE aggregate_id = ?", Integer.class, productId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.microservices.productservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = ProductServiceApplication.class, properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.events.offset-reset=earliest"
+})
+@EmbeddedKafka(partitions = 1, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class ProductCacheInvalidationIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldEvictCachedProductWhenEventArrivesFromBroker() throws Exception {
+        // Given
+        // Seeded through JDBC so that no event of our own can evict the entry before the broker delivers one
+        jdbcTemplate.update("INSERT INTO products (name, price, price_cents, inventory_count) VALUES ('Desk', 249.00, 24900, 5)");
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM products WHERE name = 'Desk'", Long.class);
+        String productId = String.valueOf(id);
+        assertEquals("Desk", productService.getProductById(productId).getName());
+
+        // A write from another instance, invisible to this instance's entity listener
+        jdbcTemplate.update("UPDATE products SET name = 'Standing Desk' WHERE id = ?", id);
+        assertEquals("Desk", productService.getProductById(productId).getName());
+
+        // When
+        ProductEvent event = ProductEvent.builder()
+                .productId(productId)
+                .timestamp(LocalDateTime.now())
+                .eventType("ProductUpdated")
+                .build();
+        kafkaTemplate.send("product-events", productId, objectMapper.writeValueAsString(event));
+
+        // Then
+        long deadline = System.currentTimeMillis() + 10_000;
+        String name = productService.getProductById(productId).getName();
+        while (!"Standing Desk".equals(name) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            name = productService.getProductById(productId).getName();
+        }
+        assertEquals("Standing Desk", name);
+    }
+}
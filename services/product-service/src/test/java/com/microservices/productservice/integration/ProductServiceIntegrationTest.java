@@ -1,7 +1,11 @@
 package com.microservices.productservice.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.productservice.ProductServiceApplication;
-import com.microservices.productservice.dto.ProductRequest;
+import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.model.Product;
 import com.microservices.productservice.repository.ProductRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,23 +16,22 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
-import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
+import org.springframework.kafka.test.context.EmbeddedKafka;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(classes = ProductServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@Testcontainers
+@SpringBootTest(classes = ProductServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "eureka.client.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop"
+        })
+@EmbeddedKafka(partitions = 1, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
 public class ProductServiceIntegrationTest {
 
-    @Container
-    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
-
     @LocalServerPort
     private int port;
 
@@ -40,16 +43,9 @@ public class ProductServiceIntegrationTest {
 
     private String baseUrl;
 
-    @DynamicPropertySource
-    static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.datasource.url", postgres::getJdbcUrl);
-        registry.add("spring.datasource.username", postgres::getUsername);
-        registry.add("spring.datasource.password", postgres::getPassword);
-    }
-
     @BeforeEach
     void setUp() {
-        baseUrl = "http://localhost:" + port;
+        baseUrl = "http://localhost:" + port + "/api/v1/products";
     }
 
     @AfterEach
@@ -58,58 +54,92 @@ public class ProductServiceIntegrationTest {
     }
 
     @Test
-    void shouldCreateProductSuccessfully() {
+    void shouldReturnProductById() {
         // Given
-        ProductRequest request = ProductRequest.builder()
+        Product product = productRepository.save(Product.builder()
                 .name("Test Product")
                 .description("Test Description")
                 .price(BigDecimal.valueOf(99.99))
-                .category("Electronics")
-                .stockQuantity(10)
-                .build();
+                .inventoryCount(10)
+                .build());
 
         // When
-        ResponseEntity<String> response = restTemplate.postForEntity(
-                baseUrl + "/api/products",
-                request,
-                String.class
-        );
+        ResponseEntity<ProductResponse> response = restTemplate.getForEntity(
+                baseUrl + "/" + product.getId(), ProductResponse.class);
 
         // Then
-        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(productRepository.findByName("Test Product").isPresent());
+        assertEquals("Test Product", response.getBody().getName());
+        assertEquals(10, response.getBody().getStockQuantity());
+        assertNotNull(response.getHeaders().getETag());
     }
 
     @Test
-    void shouldUpdateProductStockSuccessfully() {
+    void shouldKeepNullFieldsInFullResponsesAndOmitThemFromSparseOnes() throws Exception {
         // Given
-        ProductRequest createRequest = ProductRequest.builder()
-                .name("Test Product")
-                .description("Test Description")
-                .price(BigDecimal.valueOf(99.99))
-                .category("Electronics")
-                .stockQuantity(10)
-                .build();
+        Product product = productRepository.save(Product.builder()
+                .name("Bare Product")
+                .price(BigDecimal.valueOf(5))
+                .inventoryCount(1)
+                .build());
+        String url = baseUrl + "/" + product.getId();
+        ObjectMapper objectMapper = new ObjectMapper();
 
-        ResponseEntity<String> createResponse = restTemplate.postForEntity(
-                baseUrl + "/api/products",
-                createRequest,
-                String.class
-        );
-        String productId = createResponse.getBody();
+        // When
+        JsonNode full = objectMapper.readTree(restTemplate.getForObject(url, String.class));
+        JsonNode sparse = objectMapper.readTree(restTemplate.getForObject(url + "?fields=name,description", String.class));
+        JsonNode listing = objectMapper.readTree(restTemplate.getForObject(baseUrl, String.class));
 
+        // Then
+        assertTrue(full.get("description").isNull());
+        assertTrue(full.get("category").isNull());
+        assertTrue(full.get("imageUrl").isNull());
+        assertTrue(listing.get("items").get(0).get("description").isNull());
+        assertEquals("Bare Product", sparse.get("name").asText());
+        assertFalse(sparse.has("description"));
+        assertFalse(sparse.has("price"));
+    }
+
+    @Test
+    void shouldWalkListingWithKeysetCursor() {
+        // Given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(Product.builder()
+                    .name("Item " + i)
+                    .price(BigDecimal.valueOf(10 + i))
+                    .inventoryCount(1)
+                    .build());
+        }
+        productRepository.saveAll(products);
+
+        // When
+        PagedProductResponse first = restTemplate.getForObject(
+                baseUrl + "?size=3&cursor=", PagedProductResponse.class);
+        PagedProductResponse second = restTemplate.getForObject(
+                baseUrl + "?size=3&cursor=" + first.getNextCursor(), PagedProductResponse.class);
+
+        // Then
+        assertEquals(List.of("Item 0", "Item 1", "Item 2"), names(first));
+        assertTrue(first.getHasNext());
+        assertEquals(List.of("Item 3", "Item 4"), names(second));
+        assertFalse(second.getHasNext());
+    }
+
+    @Test
+    void shouldRejectMalformedAndOversizedPriceBoundsWithBadRequest() {
         // When
-        int newStockQuantity = 5;
-        ResponseEntity<Void> updateResponse = restTemplate.patchForObject(
-                baseUrl + "/api/products/" + productId + "/stock",
-                newStockQuantity,
-                Void.class
-        );
+        ResponseEntity<String> malformed = restTemplate.getForEntity(baseUrl + "?minPrice=abc", String.class);
+        ResponseEntity<String> oversized = restTemplate.getForEntity(
+                baseUrl + "?maxPrice=99999999999999999999", String.class);
 
         // Then
-        assertEquals(HttpStatus.OK, updateResponse.getStatusCode());
-        var updatedProduct = productRepository.findById(productId).orElseThrow();
-        assertEquals(newStockQuantity, updatedProduct.getStockQuantity());
+        assertEquals(HttpStatus.BAD_REQUEST, malformed.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, oversized.getStatusCode());
+    }
+
+    private static List<String> names(PagedProductResponse page) {
+        return page.getItems().stream().map(ProductResponse::getName).toList();
     }
-}
\ No newline at end of file
+}
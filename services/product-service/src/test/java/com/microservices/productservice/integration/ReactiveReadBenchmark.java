@@ -0,0 +1,128 @@
+package com.microservices.productservice.integration;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the JPA listing path with the R2DBC one under a burst of concurrent listing
+ * requests against the same in-memory H2 database. Run with ./gradlew benchmarkTest.
+ */
+@Tag("benchmark")
+public class ReactiveReadBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadBenchmark.class);
+    private static final int PRODUCTS = 5_000;
+    private static final int REQUESTS = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareBlockingAndReactiveListing() throws Exception {
+        Result blocking = run(false);
+        Result reactive = run(true);
+
+        report("jpa", blocking);
+        report("r2dbc", reactive);
+
+        assertEquals(0, blocking.errors);
+        assertEquals(0, reactive.errors);
+    }
+
+    private static void report(String path, Result result) {
+        log.info("{}: {} ms total, {} req/s, p50 {} ms, p99 {} ms, max {} ms",
+                path, result.totalMillis, Math.round(result.throughput()), result.p50, result.p99, result.max);
+    }
+
+    private Result run(boolean reactive) throws Exception {
+        String database = "listing-" + reactive;
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "spring.kafka.listener.auto-startup=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "product.r2dbc.url=r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1",
+                        "product.index.enabled=false",
+                        "product.search.index-dir=" + tempDir.resolve("search-" + reactive));
+        if (reactive) {
+            builder.profiles("reactive");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < PRODUCTS; i++) {
+                products.add(Product.builder().name("Product " + i).price(new BigDecimal(i % 500 + 1))
+                        .inventoryCount(5).build());
+            }
+            productRepository.saveAll(products);
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/products?size=20&sort=price&includeTotals=false";
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder().executor(clients).build();
+                for (int i = 0; i < 200; i++) {
+                    send(http, base + "&page=" + i);
+                }
+
+                long started = System.nanoTime();
+                List<CompletableFuture<Long>> requests = new ArrayList<>(REQUESTS);
+                for (int i = 0; i < REQUESTS; i++) {
+                    requests.add(CompletableFuture.supplyAsync(() -> time(http, base + "&minPrice="
+                            + ThreadLocalRandom.current().nextInt(400)), clients));
+                }
+                long[] latencies = requests.stream().mapToLong(CompletableFuture::join).toArray();
+                long totalMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+                Arrays.sort(latencies);
+                long errors = Arrays.stream(latencies).filter(l -> l < 0).count();
+                return new Result(totalMillis, latencies[REQUESTS / 2], latencies[(int) (REQUESTS * 0.99)],
+                        latencies[REQUESTS - 1], errors);
+            }
+        }
+    }
+
+    private static long time(HttpClient http, String url) {
+        long started = System.nanoTime();
+        try {
+            return send(http, url) == 200 ? (System.nanoTime() - started) / 1_000_000 : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static int send(HttpClient http, String url) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private record Result(long totalMillis, long p50, long p99, long max, long errors) {
+        double throughput() {
+            return REQUESTS * 1000.0 / totalMillis;
+        }
+    }
+}
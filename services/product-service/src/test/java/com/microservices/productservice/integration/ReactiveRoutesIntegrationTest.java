@@ -0,0 +1,197 @@
+package com.microservices.productservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.index.CatalogIndex;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the ProductController parameter cases with the reactive profile active, where the
+ * functional routes own the listing and detail URLs for plain requests.
+ */
+@SpringBootTest(classes = ProductServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "eureka.client.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.datasource.url=jdbc:h2:mem:reactive-routes;DB_CLOSE_DELAY=-1",
+                "product.r2dbc.url=r2dbc:h2:mem:///reactive-routes;DB_CLOSE_DELAY=-1",
+                "product.r2dbc.username=sa"
+        })
+@ActiveProfiles("reactive")
+@EmbeddedKafka(partitions = 1, topics = "product-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class ReactiveRoutesIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/v1/products";
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(Product.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .price(BigDecimal.valueOf(10 + i))
+                    .inventoryCount(3)
+                    .build());
+        }
+        productRepository.saveAll(products);
+        // Seeded straight through the repository, so no product events reach the index
+        catalogIndex.build();
+    }
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void plainListing_ShouldBeServed() throws Exception {
+        // When
+        JsonNode page = json(get("?size=2&page=1", null));
+
+        // Then
+        assertEquals(List.of("Item 2", "Item 3"), names(page));
+        assertEquals(5, page.get("totalItems").asLong());
+    }
+
+    @Test
+    void cursor_ShouldContinueWhereThePreviousPageEnded() throws Exception {
+        // When
+        JsonNode first = json(get("?size=2&cursor=", null));
+        JsonNode second = json(get("?size=2&cursor=" + first.get("nextCursor").asText(), null));
+
+        // Then
+        assertEquals(List.of("Item 0", "Item 1"), names(first));
+        assertEquals(List.of("Item 2", "Item 3"), names(second));
+    }
+
+    @Test
+    void approximateTotals_ShouldReportWhetherTotalsAreExact() throws Exception {
+        // When
+        JsonNode page = json(get("?size=2&page=1&approximateTotals=true", null));
+
+        // Then
+        assertEquals(5, page.get("totalItems").asLong());
+        assertFalse(page.get("totalsApproximate").asBoolean());
+    }
+
+    @Test
+    void fields_ShouldTrimListingAndDetail() throws Exception {
+        // Given
+        Long productId = productRepository.findAll().get(0).getId();
+
+        // When
+        JsonNode listing = json(get("?size=2&fields=name", null));
+        JsonNode detail = json(get("/" + productId + "?fields=name", null));
+
+        // Then
+        assertEquals(Set.of("productId", "name"), fieldNames(listing.get("items").get(0)));
+        assertEquals(Set.of("productId", "name"), fieldNames(detail));
+    }
+
+    @Test
+    void listingIfNoneMatch_ShouldReturnNotModifiedForCurrentEtag() throws Exception {
+        // Given
+        HttpResponse<String> first = get("?size=2", "\"stale\"");
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        // When
+        HttpResponse<String> second = get("?size=2", etag);
+
+        // Then
+        assertEquals(200, first.statusCode());
+        assertEquals(304, second.statusCode());
+    }
+
+    @Test
+    void detailIfNoneMatch_ShouldReturnNotModifiedForCurrentEtag() throws Exception {
+        // Given
+        Long productId = productRepository.findAll().get(0).getId();
+        HttpResponse<String> first = get("/" + productId, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        // When
+        HttpResponse<String> second = get("/" + productId, etag);
+
+        // Then
+        assertEquals(200, first.statusCode());
+        assertEquals(304, second.statusCode());
+        assertEquals(etag, second.headers().firstValue("ETag").orElseThrow());
+        assertTrue(second.body().isEmpty());
+    }
+
+    @Test
+    void unknownOrOutOfRangeProductId_ShouldFailLikeTheController() throws Exception {
+        // When
+        HttpResponse<String> missing = get("/987654321", null);
+        HttpResponse<String> outOfRange = get("/99999999999999999999", null);
+        HttpResponse<String> controller = get("/987654321?fields=name", null);
+
+        // Then
+        assertEquals(controller.statusCode(), missing.statusCode());
+        assertEquals(controller.statusCode(), outOfRange.statusCode());
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "application/json");
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws Exception {
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private static List<String> names(JsonNode page) {
+        List<String> names = new ArrayList<>();
+        page.get("items").forEach(item -> names.add(item.get("name").asText()));
+        return names;
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+            names.add(it.next());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,190 @@
+package com.microservices.productservice.integration;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares platform-thread and virtual-thread request execution under a burst of slow
+ * database-bound requests mixed with cheap cached ones. Each statement is delayed to
+ * stand in for a remote database. With platform threads the slow burst occupies every
+ * Tomcat worker and cached requests queue behind it; with virtual threads only the
+ * bulkhead queues and cached requests stay fast. Run with ./gradlew benchmarkTest.
+ */
+@Tag("benchmark")
+public class ThreadModeBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeBenchmark.class);
+    private static final int SLOW_REQUESTS = 2_000;
+    private static final int FAST_REQUESTS = 2_000;
+    private static final long STATEMENT_DELAY_MILLIS = 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        report("platform", platform);
+        report("virtual", virtual);
+
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+    }
+
+    private static void report(String mode, Result result) {
+        log.info("{} threads: {} ms total, cached p50 {} ms, cached p99 {} ms, db p50 {} ms, db p99 {} ms",
+                mode, result.totalMillis, result.fastP50, result.fastP99, result.slowP50, result.slowP99);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                ProductServiceApplication.class, SlowDatabaseConfig.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "spring.kafka.listener.auto-startup=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.datasource.url=jdbc:h2:mem:threads-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "product.threads.virtual=" + virtualThreads,
+                        "product.index.enabled=false",
+                        "product.bulkhead.max-wait=60s",
+                        "product.search.index-dir=" + tempDir.resolve("search-" + virtualThreads))
+                .run()) {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                ids.add(productRepository.save(Product.builder()
+                        .name("Product " + i).price(new BigDecimal(i + 1)).inventoryCount(10).build()).getId());
+            }
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/products";
+            Long hotId = ids.get(0);
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder().executor(clients).build();
+                send(http, base + "/" + hotId);
+
+                long started = System.nanoTime();
+                List<CompletableFuture<Long>> slow = new ArrayList<>();
+                for (int i = 0; i < SLOW_REQUESTS; i++) {
+                    slow.add(CompletableFuture.supplyAsync(() -> time(http, base + "?size=5&includeTotals=false&page="
+                            + (int) (Math.random() * 40)), clients));
+                }
+                List<CompletableFuture<Long>> fast = new ArrayList<>();
+                for (int i = 0; i < FAST_REQUESTS; i++) {
+                    fast.add(CompletableFuture.supplyAsync(() -> time(http, base + "/" + hotId), clients));
+                }
+
+                long[] slowLatencies = join(slow);
+                long[] fastLatencies = join(fast);
+                long totalMillis = (System.nanoTime() - started) / 1_000_000;
+                long errors = Arrays.stream(slowLatencies).filter(l -> l < 0).count()
+                        + Arrays.stream(fastLatencies).filter(l -> l < 0).count();
+                return new Result(totalMillis, percentile(fastLatencies, 0.5), percentile(fastLatencies, 0.99),
+                        percentile(slowLatencies, 0.5), percentile(slowLatencies, 0.99), errors);
+            }
+        }
+    }
+
+    private static long time(HttpClient http, String url) {
+        long started = System.nanoTime();
+        try {
+            int status = send(http, url);
+            return status == 200 ? (System.nanoTime() - started) / 1_000_000 : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static int send(HttpClient http, String url) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private static long[] join(List<CompletableFuture<Long>> futures) {
+        long[] latencies = futures.stream().mapToLong(CompletableFuture::join).toArray();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+    }
+
+    private record Result(long totalMillis, long fastP50, long fastP99, long slowP50, long slowP99, long errors) {
+    }
+
+    /**
+     * Delays every statement execution to model network and query time on a real database.
+     */
+    @Configuration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor slowDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? slow(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource slow(DataSource target) {
+            return proxy(DataSource.class, target, (result, method) ->
+                    result instanceof Connection connection ? proxy(Connection.class, connection, (statementResult, statementMethod) ->
+                            statementResult instanceof PreparedStatement statement ? proxy(PreparedStatement.class, statement, (value, executed) -> {
+                                if (executed.startsWith("execute")) {
+                                    Thread.sleep(STATEMENT_DELAY_MILLIS);
+                                }
+                                return value;
+                            }) : statementResult) : result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return decorator.decorate(method.invoke(target, args), method.getName());
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private interface ResultDecorator {
+            Object decorate(Object result, String method) throws Exception;
+        }
+    }
+}
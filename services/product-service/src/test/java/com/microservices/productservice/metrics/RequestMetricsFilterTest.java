@@ -0,0 +1,118 @@
+package com.microservices.productservice.metrics;
+
+import com.microservices.productservice.service.SingleFlight;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestMetricsFilterTest {
+
+    @Test
+    void shouldRecordPayloadSizeAndStatementsPerRoute() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestMetricsFilter filter = new RequestMetricsFilter(registry);
+        StatementCounter inspector = new StatementCounter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = "{\"productId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/products/{productId}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            res.getOutputStream().write(body);
+        });
+
+        // Assert
+        DistributionSummary size = registry.get("product.http.response.size")
+                .tags("method", "GET", "uri", "/api/v1/products/{productId}").summary();
+        DistributionSummary statements = registry.get("product.http.statements")
+                .tags("method", "GET", "uri", "/api/v1/products/{productId}").summary();
+        assertEquals(body.length, size.totalAmount());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(body.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void shouldNotCountStatementsOutsideRequests() {
+        // Arrange
+        StatementCounter inspector = new StatementCounter();
+
+        // Act
+        String sql = inspector.inspect("select 1");
+
+        // Assert
+        assertEquals("select 1", sql);
+        assertEquals(0, StatementCounter.stop().statements());
+    }
+
+    @Test
+    void shouldRecordCoalescedRequestsApart() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestMetricsFilter filter = new RequestMetricsFilter(registry);
+        StatementCounter inspector = new StatementCounter();
+        SingleFlight singleFlight = new SingleFlight(registry, Duration.ofSeconds(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<?> leader = executor.submit(() -> serve(filter, () -> singleFlight.execute("product-42", () -> {
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            loading.countDown();
+            await(release);
+            return "loaded";
+        })));
+        await(loading);
+        Future<?> follower = executor.submit(() -> serve(filter, () -> singleFlight.execute("product-42", () -> {
+            throw new AssertionError("a follower must not load");
+        })));
+        Thread.sleep(100);
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        follower.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        DistributionSummary ran = registry.get("product.http.statements").tag("coalesced", "false").summary();
+        DistributionSummary joined = registry.get("product.http.statements").tag("coalesced", "true").summary();
+        assertEquals(1, ran.count());
+        assertEquals(2, ran.totalAmount());
+        assertEquals(1, joined.count());
+        assertEquals(0, joined.totalAmount());
+    }
+
+    private static Void serve(RequestMetricsFilter filter, Runnable handler) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products/42"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/products/{productId}");
+                    handler.run();
+                });
+        return null;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.model.Product;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class PriceCentsBackfillTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (String price : List.of("19.99", "0.05", "120.00")) {
+            entityManager.persist(Product.builder().name("Product " + price).price(new BigDecimal(price)).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Rows as they look before the column is filled
+        jdbcTemplate.execute("ALTER TABLE products ALTER COLUMN price_cents DROP NOT NULL");
+        jdbcTemplate.update("UPDATE products SET price_cents = NULL");
+    }
+
+    @Test
+    void backfill_ShouldConvertEveryNullPriceAcrossBatches() {
+        // Arrange
+        PriceCentsBackfill backfill = new PriceCentsBackfill(jdbcTemplate, 2);
+
+        // Act
+        long updated = backfill.backfill();
+
+        // Assert
+        assertEquals(3, updated);
+        assertEquals(List.of(5L, 1999L, 12000L),
+                jdbcTemplate.queryForList("SELECT price_cents FROM products ORDER BY price_cents", Long.class));
+        assertEquals(0, backfill.backfill());
+    }
+}
@@ -0,0 +1,189 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.dto.ProductField;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.model.Category;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.model.ProductImage;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = Category.builder().name("Electronics").build();
+        entityManager.persist(category);
+
+        for (int i = 0; i < 30; i++) {
+            Product product = Product.builder()
+                    .name(String.format("Product %02d", i))
+                    .description("Description " + i)
+                    .price(new BigDecimal(10 + i))
+                    .inventoryCount(i)
+                    .category(category)
+                    .images(new ArrayList<>())
+                    .build();
+            product.getImages().add(ProductImage.builder().product(product).url("https://img/" + i + "/alt.jpg").isPrimary(false).build());
+            product.getImages().add(ProductImage.builder().product(product).url("https://img/" + i + "/main.jpg").isPrimary(true).build());
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findListingByPriceRange_ShouldUseSingleStatementRegardlessOfPageSize() {
+        // When
+        Slice<ProductListingRow> small = productRepository.findListingByPriceRange(
+                0L, 100_000L, PageRequest.of(0, 5, Sort.by("name")));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        Slice<ProductListingRow> large = productRepository.findListingByPriceRange(
+                0L, 100_000L, PageRequest.of(1, 20, Sort.by("name")));
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        assertEquals(1, smallPageStatements);
+        assertEquals(1, largePageStatements);
+        assertEquals(5, small.getContent().size());
+        assertEquals(10, large.getContent().size());
+
+        ProductListingRow first = small.getContent().get(0);
+        assertEquals("Product 00", first.getName());
+        assertEquals("Electronics", first.getCategory());
+        assertEquals("https://img/0/main.jpg", first.getImageUrl());
+    }
+
+    @Test
+    void findPageAfter_ShouldSeekWithSingleStatement() {
+        // When
+        List<ProductListingRow> rows = productRepository.findPageAfter(
+                "Electronics", 0L, 100_000L,
+                "name", false, "Product 09", Long.MAX_VALUE, 10);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, rows.size());
+        assertEquals("Product 10", rows.get(0).getName());
+        assertEquals("https://img/10/main.jpg", rows.get(0).getImageUrl());
+    }
+
+    @Test
+    void findListingFields_ShouldReadOnlySelectedColumns() {
+        // When
+        List<ProductListingRow> rows = productRepository.findListingFields(
+                null, 0L, 100_000L, "price", true, 5, 3,
+                EnumSet.of(ProductField.NAME, ProductField.PRICE, ProductField.IMAGE_URL));
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, rows.size());
+        assertEquals("Product 24", rows.get(0).getName());
+        assertEquals(new BigDecimal("34.00"), rows.get(0).getPrice().setScale(2));
+        assertEquals("https://img/24/main.jpg", rows.get(0).getImageUrl());
+        assertNotNull(rows.get(0).getId());
+        assertNull(rows.get(0).getDescription());
+        assertNull(rows.get(0).getCategory());
+        assertNull(rows.get(0).getInventoryCount());
+    }
+
+    @Test
+    void findListingFieldsByIdIn_ShouldJoinCategoryOnlyWhenSelected() {
+        // Given
+        List<Long> ids = productRepository.findPageAfter(null, 0L, 100_000L,
+                "name", false, null, null, 2).stream().map(ProductListingRow::getId).toList();
+
+        // When
+        List<ProductListingRow> rows = productRepository.findListingFieldsByIdIn(ids,
+                EnumSet.of(ProductField.CATEGORY, ProductField.IS_AVAILABLE));
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals("Electronics", rows.get(0).getCategory());
+        assertNotNull(rows.get(0).getInventoryCount());
+        assertNull(rows.get(0).getName());
+    }
+
+    @Test
+    void countByPriceRange_ShouldBoundInclusivelyOnPriceCents() {
+        // When
+        long inRange = productRepository.countByPriceRange(1_500L, 2_000L);
+
+        // Then
+        assertEquals(6, inRange);
+    }
+
+    @Test
+    void priceCents_ShouldFollowPriceOnUpdate() {
+        // Given
+        Product product = productRepository.findAll(Sort.by("name")).get(0);
+        assertEquals(1_000L, product.getPriceCents());
+
+        // When
+        product.setPrice(new BigDecimal("12.345"));
+        entityManager.flush();
+
+        // Then
+        assertEquals(1_235L, product.getPriceCents());
+        assertEquals(1, productRepository.countByPriceRange(1_235L, 1_235L));
+    }
+
+    @Test
+    void findPageAfter_ByPrice_ShouldSeekOnPriceCents() {
+        // When
+        List<ProductListingRow> rows = productRepository.findPageAfter(
+                null, 0L, 100_000L, "price", false, new BigDecimal("20"), Long.MAX_VALUE, 3);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("Product 11", "Product 12", "Product 13"),
+                rows.stream().map(ProductListingRow::getName).toList());
+    }
+
+    @Test
+    void streamListing_ShouldReturnUnmanagedRowsInIdOrder() {
+        // When
+        List<ProductListingRow> rows;
+        try (Stream<ProductListingRow> stream = productRepository.streamListing()) {
+            rows = stream.toList();
+        }
+
+        // Then
+        assertEquals(30, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).getId() < rows.get(i).getId());
+        }
+        assertEquals("https://img/0/main.jpg", rows.get(0).getImageUrl());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.dto.ProductListingRow;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactiveProductQueriesTest {
+
+    private static final long MAX_PRICE_CENTS = 99_999_999_900L;
+
+    private ReactiveProductQueries queries;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        Flux.just(
+                        "CREATE TABLE categories (id BIGINT PRIMARY KEY, name VARCHAR(255))",
+                        "CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(255), description VARCHAR(255), " +
+                                "price NUMERIC(19, 2), price_cents BIGINT, category_id BIGINT, inventory_count INT, " +
+                                "created_at TIMESTAMP, updated_at TIMESTAMP)",
+                        "CREATE TABLE product_images (id BIGINT PRIMARY KEY, product_id BIGINT, url VARCHAR(255), " +
+                                "is_primary BOOLEAN, created_at TIMESTAMP)",
+                        "INSERT INTO categories VALUES (1, 'Electronics'), (2, 'Books')",
+                        "INSERT INTO products VALUES " +
+                                "(1, 'Laptop', 'Fast', 999.00, 99900, 1, 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), " +
+                                "(2, 'Cable', NULL, 5.50, 550, 1, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), " +
+                                "(3, 'Novel', NULL, 12.99, 1299, 2, 7, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), " +
+                                "(4, 'Adapter', NULL, 12.99, 1299, 1, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                        "INSERT INTO product_images VALUES " +
+                                "(1, 1, 'https://img/laptop-side.jpg', FALSE, CURRENT_TIMESTAMP), " +
+                                "(2, 1, 'https://img/laptop.jpg', TRUE, CURRENT_TIMESTAMP)")
+                .concatMap(sql -> client.sql(sql).then())
+                .blockLast();
+        queries = new ReactiveProductQueries(client);
+    }
+
+    @Test
+    void findListing_ByCategoryAndPriceRange_ShouldStreamInSortOrder() {
+        // Act & Assert
+        StepVerifier.create(queries.findListing("Electronics", 500, 10_000, "price", 0, null)
+                        .map(ProductListingRow::getName))
+                .expectNext("Cable", "Adapter")
+                .verifyComplete();
+    }
+
+    @Test
+    void findListing_WithLimitAndOffset_ShouldPageWithIdTieBreak() {
+        // Act & Assert
+        StepVerifier.create(queries.findListing(null, 0, MAX_PRICE_CENTS, "-price", 1, 2)
+                        .map(ProductListingRow::getId))
+                .expectNext(4L, 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_ShouldMapCategoryAndPrimaryImage() {
+        // Act
+        ProductListingRow row = queries.findById(1L).block();
+
+        // Assert
+        assertNotNull(row);
+        assertEquals("Electronics", row.getCategory());
+        assertEquals("https://img/laptop.jpg", row.getImageUrl());
+        assertEquals(0, new BigDecimal("999.00").compareTo(row.getPrice()));
+        assertNotNull(row.getCreatedAt());
+    }
+
+    @Test
+    void countListing_ShouldMatchFilter() {
+        // Act & Assert
+        StepVerifier.create(queries.countListing("Electronics", 0, MAX_PRICE_CENTS))
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findListing_WithUnknownSort_ShouldFail() {
+        // Act & Assert
+        StepVerifier.create(queries.findListing(null, 0, MAX_PRICE_CENTS, "inventoryCount", 0, 10))
+                .expectError(RuntimeException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,164 @@
+package com.microservices.productservice.search;
+
+import com.microservices.productservice.dto.ProductSearchDocument;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ProductSearchIndexTest {
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("999999999");
+
+    @TempDir
+    Path indexDir;
+
+    private ProductRepository productRepository;
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(productRepository.findSearchDocuments()).thenReturn(List.of(
+                document(1L, "Wireless Mouse", "Ergonomic mouse with USB receiver", "Electronics", "29.99"),
+                document(2L, "Gaming Mouse Pad", "Large cloth pad", "Accessories", "15.00"),
+                document(3L, "Mechanical Keyboard", "Keyboard with wireless and wired modes", "Electronics", "119.00")));
+        searchIndex = new ProductSearchIndex(productRepository, indexDir);
+        searchIndex.synchronize();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        searchIndex.close();
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Act
+        ProductSearchPage page = searchIndex.search("wireless", null, BigDecimal.ZERO, MAX_PRICE, 0, 10);
+
+        // Assert
+        assertEquals(2, page.totalHits());
+        assertEquals(List.of(1L, 3L), page.productIds());
+    }
+
+    @Test
+    void search_ShouldApplyCategoryAndPriceFilters() {
+        // Act
+        ProductSearchPage page = searchIndex.search("mouse", "Electronics", BigDecimal.ZERO, new BigDecimal("50"), 0, 10);
+
+        // Assert
+        assertEquals(1, page.totalHits());
+        assertEquals(List.of(1L), page.productIds());
+    }
+
+    @Test
+    void search_WithInvalidWindow_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> searchIndex.search("mouse", null, BigDecimal.ZERO, MAX_PRICE, 0, 0));
+        assertThrows(RuntimeException.class, () -> searchIndex.search("mouse", null, BigDecimal.ZERO, MAX_PRICE, -10, 10));
+    }
+
+    @Test
+    void refresh_ShouldReindexUpdatedAndDropDeletedProducts() throws Exception {
+        // Arrange
+        when(productRepository.findSearchDocumentsByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                document(2L, "Wireless Charging Pad", "Large cloth pad", "Accessories", "15.00")));
+        searchIndex.onProductEvent(ProductEvent.builder().productId("2").eventType("ProductUpdated").build());
+        searchIndex.onProductEvent(ProductEvent.builder().productId("1").eventType("ProductDeleted").build());
+
+        // Act
+        searchIndex.refresh();
+        ProductSearchPage page = searchIndex.search("wireless", null, BigDecimal.ZERO, MAX_PRICE, 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), page.productIds());
+    }
+
+    @Test
+    void onProductEvent_ShouldOnlyQueueTheChangedId() throws Exception {
+        // Act
+        searchIndex.onProductEvent(ProductEvent.builder().productId("2").eventType("ProductUpdated").build());
+        ProductSearchPage page = searchIndex.search("pad", null, BigDecimal.ZERO, MAX_PRICE, 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L), page.productIds());
+        verify(productRepository, never()).findSearchDocumentsByIdIn(any());
+    }
+
+    @Test
+    void synchronize_AfterRestart_ShouldOnlyReadProductsChangedSinceLastCommit() throws Exception {
+        // Arrange
+        searchIndex.close();
+        searchIndex = new ProductSearchIndex(productRepository, indexDir);
+
+        // Act
+        searchIndex.synchronize();
+        ProductSearchPage page = searchIndex.search("keyboard", null, BigDecimal.ZERO, MAX_PRICE, 0, 10);
+
+        // Assert
+        assertEquals(List.of(3L), page.productIds());
+        verify(productRepository, times(1)).findSearchDocuments();
+        verify(productRepository).findSearchDocumentsUpdatedSince(any(LocalDateTime.class));
+    }
+
+    @Test
+    void synchronize_AfterRestart_ShouldDropProductsDeletedWhileDown() throws Exception {
+        // Arrange
+        searchIndex.close();
+        when(productRepository.findAllIds()).thenReturn(List.of(2L, 3L, 4L));
+        when(productRepository.findSearchDocumentsByIdIn(Set.of(4L))).thenReturn(List.of(
+                document(4L, "Wireless Headset", "Over-ear headset", "Electronics", "79.00")));
+        searchIndex = new ProductSearchIndex(productRepository, indexDir);
+
+        // Act
+        searchIndex.synchronize();
+        ProductSearchPage page = searchIndex.search("wireless", null, BigDecimal.ZERO, MAX_PRICE, 0, 10);
+
+        // Assert
+        assertEquals(2, page.totalHits());
+        assertTrue(page.productIds().containsAll(List.of(3L, 4L)));
+        verify(productRepository, times(1)).findSearchDocuments();
+    }
+
+    @Test
+    void onProductEvent_ForBulkChange_ShouldCatchUpOnceOnNextCommit() throws Exception {
+        // Arrange
+        when(productRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(productRepository.findSearchDocumentsByIdIn(Set.of(4L, 5L))).thenReturn(List.of(
+                document(4L, "Wireless Speaker", "Portable speaker", "Electronics", "49.00"),
+                document(5L, "Wireless Earbuds", "In-ear", "Electronics", "89.00")));
+        ProductEvent chunk = ProductEvent.builder().eventType("ProductsImported").build();
+
+        // Act
+        searchIndex.onProductEvent(chunk);
+        searchIndex.onProductEvent(chunk);
+        searchIndex.commit();
+        searchIndex.commit();
+        ProductSearchPage page = searchIndex.search("wireless", null, BigDecimal.ZERO, MAX_PRICE, 0, 10);
+
+        // Assert
+        assertEquals(4, page.totalHits());
+        verify(productRepository, times(1)).findSearchDocuments();
+        verify(productRepository, times(1)).findSearchDocumentsByIdIn(Set.of(4L, 5L));
+    }
+
+    private static ProductSearchDocument document(Long id, String name, String description,
+                                                  String category, String price) {
+        return new ProductSearchDocument(id, name, description, category, new BigDecimal(price),
+                LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id));
+    }
+}
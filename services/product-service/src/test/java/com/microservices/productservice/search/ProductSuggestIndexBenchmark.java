@@ -0,0 +1,81 @@
+package com.microservices.productservice.search;
+
+import com.microservices.productservice.dto.ProductIndexEntry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the typeahead FST over one million synthetic products and reports its footprint
+ * and lookup latency. Excluded from the default test task; run with ./gradlew benchmarkTest.
+ */
+@Tag("benchmark")
+public class ProductSuggestIndexBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestIndexBenchmark.class);
+    private static final int PRODUCTS = 1_000_000;
+    private static final int LOOKUPS = 200_000;
+    private static final String[] ADJECTIVES = {"wireless", "compact", "premium", "portable", "classic",
+            "smart", "ergonomic", "vintage", "organic", "heavy duty", "slim", "ultra"};
+    private static final String[] NOUNS = {"mouse", "keyboard", "lamp", "chair", "desk", "kettle", "speaker",
+            "backpack", "jacket", "monitor", "blender", "tent", "camera", "watch", "headphones"};
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Kitchen", "Outdoor", "Apparel",
+            "Office", "Audio", "Home"};
+
+    @Test
+    void buildAndQueryAtOneMillionProducts() {
+        Random random = new Random(42);
+        List<ProductIndexEntry> entries = new ArrayList<>(PRODUCTS);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            // A skewed model number keeps some names popular and most of them unique
+            int model = (int) Math.abs(random.nextGaussian() * 50_000);
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " " + model;
+            entries.add(new ProductIndexEntry(id, name, CATEGORIES[random.nextInt(CATEGORIES.length)], BigDecimal.ONE));
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long started = System.nanoTime();
+        ProductSuggestIndex index = ProductSuggestIndex.build(entries);
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+        entries = null;
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        String[] prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = i % 2 == 0 ? ADJECTIVES[random.nextInt(ADJECTIVES.length)] : NOUNS[random.nextInt(NOUNS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            index.suggest(prefixes[i % prefixes.length], 10);
+        }
+
+        long[] latencies = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long start = System.nanoTime();
+            index.suggest(prefixes[i % prefixes.length], 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        log.info("Typeahead FST at {} products: {} keys built in {} ms, {} FST bytes ({} bytes/product), "
+                        + "heap delta {} bytes (after GC, approximate)",
+                PRODUCTS, index.keyCount(), buildMillis, index.ramBytesUsed(),
+                String.format("%.1f", (double) index.ramBytesUsed() / PRODUCTS), heapAfter - heapBefore);
+        log.info("Typeahead lookup p50 {} ns, p99 {} ns, p99.9 {} ns",
+                latencies[LOOKUPS / 2], latencies[(int) (LOOKUPS * 0.99)], latencies[(int) (LOOKUPS * 0.999)]);
+
+        assertTrue(latencies[(int) (LOOKUPS * 0.99)] < 1_000_000, "p99 lookup should stay under a millisecond");
+    }
+}
@@ -0,0 +1,61 @@
+package com.microservices.productservice.search;
+
+import com.microservices.productservice.dto.ProductIndexEntry;
+import com.microservices.productservice.dto.ProductSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = ProductSuggestIndex.build(List.of(
+                entry(1L, "Wireless Mouse", "Electronics"),
+                entry(2L, "Wireless Mouse", "Electronics"),
+                entry(3L, "Wired Keyboard", "Electronics"),
+                entry(4L, "Wine Glass", "Kitchen")));
+    }
+
+    @Test
+    void suggest_ShouldRankByPopularityWeight() {
+        // Act
+        List<ProductSuggestion> suggestions = index.suggest("wi", 10);
+
+        // Assert
+        assertEquals(List.of("Wireless Mouse", "Wine Glass", "Wired Keyboard"),
+                suggestions.stream().map(ProductSuggestion::getText).toList());
+        assertEquals(2, suggestions.get(0).getWeight());
+    }
+
+    @Test
+    void suggest_ShouldMatchLaterWordsAndCategoriesCaseInsensitively() {
+        // Act
+        List<ProductSuggestion> mouse = index.suggest("MOU", 10);
+        List<ProductSuggestion> electronics = index.suggest("elec", 10);
+
+        // Assert
+        assertEquals(1, mouse.size());
+        assertEquals("Wireless Mouse", mouse.get(0).getText());
+        assertEquals(ProductSuggestIndex.PRODUCT, mouse.get(0).getType());
+        assertEquals("Electronics", electronics.get(0).getText());
+        assertEquals(ProductSuggestIndex.CATEGORY, electronics.get(0).getType());
+        assertEquals(3, electronics.get(0).getWeight());
+    }
+
+    @Test
+    void suggest_WithBlankPrefix_ShouldReturnNothing() {
+        // Act & Assert
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    private static ProductIndexEntry entry(Long id, String name, String category) {
+        return new ProductIndexEntry(id, name, category, BigDecimal.TEN);
+    }
+}
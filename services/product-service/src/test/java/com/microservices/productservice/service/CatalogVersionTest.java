@@ -0,0 +1,98 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.CatalogStamp;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CatalogVersionTest {
+
+    private ProductRepository productRepository;
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findCatalogStamp())
+                .thenReturn(new CatalogStamp(10L, LocalDateTime.of(2024, 1, 1, 12, 0)));
+        catalogVersion = new CatalogVersion(productRepository,
+                new SingleFlight(new SimpleMeterRegistry(), Duration.ofSeconds(5)), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getIfCheap_AfterEventWithinInterval_ShouldNotReadTable() {
+        // Act
+        String first = catalogVersion.getIfCheap();
+        String cached = catalogVersion.getIfCheap();
+        catalogVersion.onProductEvent(ProductEvent.builder().productId("1").build());
+        String invalidated = catalogVersion.getIfCheap();
+
+        // Assert
+        assertEquals("10-2024-01-01T12:00", first);
+        assertEquals(first, cached);
+        assertNull(invalidated);
+        verify(productRepository, times(1)).findCatalogStamp();
+    }
+
+    @Test
+    void get_AfterEvent_ShouldAlwaysReadTable() {
+        // Act
+        catalogVersion.get();
+        catalogVersion.onProductEvent(ProductEvent.builder().productId("1").build());
+        String version = catalogVersion.get();
+
+        // Assert
+        assertEquals("10-2024-01-01T12:00", version);
+        verify(productRepository, times(2)).findCatalogStamp();
+    }
+
+    @Test
+    void get_ConcurrentlyAfterEvent_ShouldShareOneRead() throws Exception {
+        // Arrange
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findCatalogStamp()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new CatalogStamp(11L, LocalDateTime.of(2024, 1, 1, 12, 0));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<String>> versions = new ArrayList<>();
+        versions.add(executor.submit(catalogVersion::get));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            versions.add(executor.submit(catalogVersion::get));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        for (Future<String> version : versions) {
+            assertEquals("11-2024-01-01T12:00", version.get(5, TimeUnit.SECONDS));
+        }
+        verify(productRepository, times(1)).findCatalogStamp();
+        executor.shutdown();
+    }
+}
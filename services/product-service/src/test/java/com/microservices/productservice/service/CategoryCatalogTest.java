@@ -0,0 +1,118 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.CategoryStats;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CategoryCatalogTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private CategoryCatalog categoryCatalog;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findCategoryStats()).thenReturn(Arrays.asList(
+                new CategoryStats(1L, "Electronics", 2, new BigDecimal("10.00"), new BigDecimal("20.00")),
+                new CategoryStats(2L, "Books", 1, new BigDecimal("5.00"), new BigDecimal("5.00"))));
+        categoryCatalog.rebuild();
+    }
+
+    @Test
+    void onProductEvent_ShouldRecomputeOnlyAffectedCategories() {
+        // Arrange
+        CategoryCatalogSnapshot before = categoryCatalog.getSnapshot();
+        when(productRepository.findCategoryStatsById(2L)).thenReturn(Optional.of(
+                new CategoryStats(2L, "Books", 2, new BigDecimal("5.00"), new BigDecimal("12.00"))));
+        when(productRepository.findCategoryStatsById(1L)).thenReturn(Optional.of(
+                new CategoryStats(1L, "Electronics", 1, new BigDecimal("20.00"), new BigDecimal("20.00"))));
+
+        // Act
+        categoryCatalog.onProductEvent(ProductEvent.builder()
+                .productId("7")
+                .categoryId(2L)
+                .previousCategoryId(1L)
+                .eventType("ProductUpdated")
+                .build());
+        categoryCatalog.refresh();
+
+        // Assert
+        CategoryCatalogSnapshot after = categoryCatalog.getSnapshot();
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertEquals(2, after.getStatsById().get(2L).getProductCount());
+        assertEquals(1, after.getStatsById().get(1L).getProductCount());
+        verify(productRepository, never()).findCategoryStatsById(3L);
+    }
+
+    @Test
+    void onProductEvent_WithUnchangedStats_ShouldKeepEtagAndVersion() {
+        // Arrange
+        CategoryCatalogSnapshot before = categoryCatalog.getSnapshot();
+        when(productRepository.findCategoryStatsById(2L)).thenReturn(Optional.of(
+                new CategoryStats(2L, "Books", 1, new BigDecimal("5.00"), new BigDecimal("5.00"))));
+
+        // Act
+        categoryCatalog.onProductEvent(ProductEvent.builder()
+                .productId("9")
+                .categoryId(2L)
+                .eventType("ProductUpdated")
+                .build());
+        categoryCatalog.refresh();
+
+        // Assert
+        assertSame(before, categoryCatalog.getSnapshot());
+    }
+
+    @Test
+    void onProductEvent_ShouldOnlyMarkDirtyUntilRefresh() {
+        // Arrange
+        CategoryCatalogSnapshot before = categoryCatalog.getSnapshot();
+
+        // Act
+        categoryCatalog.onProductEvent(ProductEvent.builder()
+                .productId("7")
+                .categoryId(2L)
+                .eventType("ProductUpdated")
+                .build());
+
+        // Assert
+        verify(productRepository, never()).findCategoryStatsById(anyLong());
+        assertSame(before, categoryCatalog.getSnapshot());
+    }
+
+    @Test
+    void refresh_ShouldCoalesceImportChunksIntoOneRebuild() {
+        // Arrange
+        ProductEvent chunk = ProductEvent.builder().eventType("ProductsImported").build();
+
+        // Act
+        categoryCatalog.onProductEvent(chunk);
+        categoryCatalog.onProductEvent(chunk);
+        categoryCatalog.onProductEvent(chunk);
+        categoryCatalog.refresh();
+        categoryCatalog.refresh();
+
+        // Assert
+        verify(productRepository, times(2)).findCategoryStats();
+    }
+}
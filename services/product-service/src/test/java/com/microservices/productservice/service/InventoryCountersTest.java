@@ -0,0 +1,111 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.model.event.ProductEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryCountersTest {
+
+    private InventoryCounters counters;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        counters = new InventoryCounters();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void tryAcquire_ShouldLoadOnceAndRejectWhenStockRunsOut() {
+        // Act
+        boolean first = counters.tryAcquire(1L, 3, this::stockOfFive);
+        boolean second = counters.tryAcquire(1L, 3, this::stockOfFive);
+        boolean third = counters.tryAcquire(1L, 2, this::stockOfFive);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(third);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void tryAcquire_UnderContention_ShouldNeverHandOutMoreThanAvailable() throws Exception {
+        // Arrange
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < 1_000; attempt++) {
+                    if (counters.tryAcquire(1L, 1, id -> 5_000)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(5_000, granted.get());
+    }
+
+    @Test
+    void onProductEvent_ShouldKeepCounterForLocalInventoryChangesOnly() {
+        // Arrange
+        counters.tryAcquire(1L, 1, this::stockOfFive);
+
+        // Act
+        counters.onProductEvent(inventoryEvent(false));
+        counters.tryAcquire(1L, 1, this::stockOfFive);
+        counters.onProductEvent(inventoryEvent(true));
+        counters.tryAcquire(1L, 1, this::stockOfFive);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void tryAcquire_InvalidatedWhileLoading_ShouldNotKeepStaleCounter() {
+        // Act
+        boolean first = counters.tryAcquire(1L, 1, id -> {
+            // Stock changes elsewhere while the load is reading the old value
+            counters.onProductEvent(inventoryEvent(true));
+            return stockOfFive(id);
+        });
+        boolean second = counters.tryAcquire(1L, 1, this::stockOfFive);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(2, loads.get());
+    }
+
+    private Integer stockOfFive(long productId) {
+        loads.incrementAndGet();
+        return 5;
+    }
+
+    private static ProductEvent inventoryEvent(boolean remote) {
+        return ProductEvent.builder()
+                .productId("1")
+                .eventType(ProductEvent.INVENTORY_CHANGED)
+                .remote(remote)
+                .build();
+    }
+}
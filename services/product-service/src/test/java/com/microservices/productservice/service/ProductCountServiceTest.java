@@ -0,0 +1,89 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.model.event.ProductEvent;
+import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductCountServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductRepository productRepository;
+    private ProductCountService productCountService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productCountService = new ProductCountService(productRepository, mock(JdbcTemplate.class), new ObjectMapper(),
+                new SingleFlight(meterRegistry, Duration.ofSeconds(5)), meterRegistry, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void countProducts_RepeatedFilter_ShouldBeServedFromCache() {
+        // Arrange
+        when(productRepository.countByPriceRange(0L, 10_000L)).thenReturn(42L);
+
+        // Act
+        long first = productCountService.countProducts(null, 0, 10_000);
+        long second = productCountService.countProducts(null, 0, 10_000);
+
+        // Assert
+        assertEquals(42L, first);
+        assertEquals(42L, second);
+        verify(productRepository, times(1)).countByPriceRange(0L, 10_000L);
+    }
+
+    @Test
+    void countProducts_InvalidatedWhileCounting_ShouldNotCacheStaleCount() {
+        // Arrange
+        when(productRepository.countByCategoryAndPriceRange("Books", 0L, 10_000L))
+                .thenAnswer(invocation -> {
+                    // A product commits and its event arrives while the COUNT is running
+                    productCountService.onProductEvent(ProductEvent.builder().productId("1").build());
+                    return 7L;
+                })
+                .thenReturn(8L);
+
+        // Act
+        long stale = productCountService.countProducts("Books", 0, 10_000);
+        long fresh = productCountService.countProducts("Books", 0, 10_000);
+
+        // Assert
+        assertEquals(7L, stale);
+        assertEquals(8L, fresh);
+        verify(productRepository, times(2)).countByCategoryAndPriceRange("Books", 0L, 10_000L);
+    }
+
+    @Test
+    void putCount_ShouldServeLaterCountsUnlessProductsChanged() {
+        // Arrange
+        long seen = productCountService.generation();
+        productCountService.putCount(null, 0, 10_000, 42, seen);
+        long beforeEvent = productCountService.generation();
+        productCountService.onProductEvent(ProductEvent.builder().productId("1").build());
+
+        // Act
+        productCountService.putCount("Books", 0, 10_000, 7, beforeEvent);
+
+        // Assert
+        assertNull(productCountService.peekCount(null, 0, 10_000));
+        assertNull(productCountService.peekCount("Books", 0, 10_000));
+        productCountService.putCount(null, 0, 10_000, 42, productCountService.generation());
+        assertEquals(42L, productCountService.peekCount(null, 0, 10_000));
+        assertEquals(42L, productCountService.countProducts(null, 0, 10_000));
+        verify(productRepository, never()).countByPriceRange(0L, 10_000L);
+    }
+}
@@ -1,25 +1,51 @@
 package com.microservices.productservice.service;
 
+import com.microservices.productservice.dto.BatchGetProductsResponse;
+import com.microservices.productservice.dto.BatchProductResult;
+import com.microservices.productservice.dto.CategoryStats;
 import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductField;
+import com.microservices.productservice.dto.ProductListingRow;
 import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.index.CatalogIndex;
+import com.microservices.productservice.index.CatalogIndexPage;
 import com.microservices.productservice.model.Product;
+import com.microservices.productservice.model.event.ProductEvent;
 import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.search.ProductSearchIndex;
+import com.microservices.productservice.search.ProductSuggester;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class ProductServiceTest {
@@ -27,6 +53,31 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCountService productCountService;
+
+    @Mock
+    private CategoryCatalog categoryCatalog;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSuggester productSuggester;
+
+    @Spy
+    private ProductResponseCache productResponseCache =
+            new ProductResponseCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry(), Duration.ofSeconds(5));
+
     @InjectMocks
     private ProductService productService;
 
@@ -38,17 +89,13 @@ public class ProductServiceTest {
     @Test
     void getProducts_WithCategory_ShouldReturnFilteredProducts() {
         // Arrange
-        Product mockProduct = Product.builder()
-                .id("1")
-                .name("Test Product")
-                .price(new BigDecimal("99.99"))
-                .category("Electronics")
-                .build();
+        ProductListingRow mockRow = row(1L, "Test Product", "99.99");
+        mockRow.setCategory("Electronics");
 
-        Page<Product> mockPage = new PageImpl<>(Arrays.asList(mockProduct));
-        when(productRepository.findByCategoryAndPriceRange(
-                any(), any(), any(), any(Pageable.class)))
-                .thenReturn(mockPage);
+        Slice<ProductListingRow> mockSlice = new SliceImpl<>(Arrays.asList(mockRow));
+        when(productRepository.findListingByCategoryAndPriceRange(
+                any(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(mockSlice);
 
         // Act
         PagedProductResponse response = productService.getProducts(
@@ -60,21 +107,16 @@ public class ProductServiceTest {
         assertEquals(1, response.getTotalItems());
         assertEquals(1, response.getItems().size());
         assertEquals("1", response.getItems().get(0).getProductId());
+        assertEquals("Electronics", response.getItems().get(0).getCategory());
     }
 
     @Test
     void getProducts_WithoutCategory_ShouldReturnAllProducts() {
         // Arrange
-        Product mockProduct = Product.builder()
-                .id("1")
-                .name("Test Product")
-                .price(new BigDecimal("99.99"))
-                .build();
-
-        Page<Product> mockPage = new PageImpl<>(Arrays.asList(mockProduct));
-        when(productRepository.findByPriceRange(
-                any(), any(), any(Pageable.class)))
-                .thenReturn(mockPage);
+        Slice<ProductListingRow> mockSlice = new SliceImpl<>(Arrays.asList(row(1L, "Test Product", "99.99")));
+        when(productRepository.findListingByPriceRange(
+                anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(mockSlice);
 
         // Act
         PagedProductResponse response = productService.getProducts(
@@ -87,16 +129,171 @@ public class ProductServiceTest {
         assertEquals(1, response.getItems().size());
     }
 
+    @Test
+    void getProducts_WithoutTotals_ShouldSkipCountQuery() {
+        // Arrange
+        Slice<ProductListingRow> mockSlice = new SliceImpl<>(
+                Arrays.asList(row(1L, "Test Product", "99.99")), PageRequest.of(3, 1), true);
+        when(productRepository.findListingByPriceRange(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(mockSlice);
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                null, new BigDecimal("0"), new BigDecimal("100"),
+                3, 1, "name", null, TotalsMode.NONE);
+
+        // Assert
+        assertNull(response.getTotalItems());
+        assertNull(response.getTotalPages());
+        assertTrue(response.getHasNext());
+        verifyNoInteractions(productCountService);
+    }
+
+    @Test
+    void getProducts_WithTotalsOnMiddlePageAndNoIndex_ShouldUseCachedCount() {
+        // Arrange
+        Slice<ProductListingRow> mockSlice = new SliceImpl<>(
+                Arrays.asList(row(1L, "Test Product", "99.99")), PageRequest.of(3, 1), true);
+        when(productRepository.findListingByPriceRange(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(mockSlice);
+        when(catalogIndex.count(any(), anyLong(), anyLong())).thenReturn(null);
+        when(productCountService.countProducts(any(), anyLong(), anyLong())).thenReturn(42L);
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                null, new BigDecimal("0"), new BigDecimal("100"),
+                3, 1, "name", null, TotalsMode.EXACT);
+
+        // Assert
+        assertEquals(42L, response.getTotalItems());
+        assertEquals(42, response.getTotalPages());
+        assertFalse(response.getTotalsApproximate());
+    }
+
+    @Test
+    void getProducts_NameSortWithIndexAvailable_ShouldTakeTotalsFromIndex() {
+        // Arrange
+        Slice<ProductListingRow> mockSlice = new SliceImpl<>(
+                Arrays.asList(row(1L, "Test Product", "99.99")), PageRequest.of(3, 1), true);
+        when(productRepository.findListingByCategoryAndPriceRange(
+                eq("Electronics"), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(mockSlice);
+        when(catalogIndex.count("Electronics", 0L, 10_000L)).thenReturn(17L);
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                "Electronics", new BigDecimal("0"), new BigDecimal("100"),
+                3, 1, "name", null, TotalsMode.APPROXIMATE);
+
+        // Assert
+        assertEquals(17L, response.getTotalItems());
+        assertEquals(17, response.getTotalPages());
+        assertFalse(response.getTotalsApproximate());
+        verifyNoInteractions(productCountService);
+    }
+
+    @Test
+    void getProducts_WithIndexAvailable_ShouldHydrateOnlyPageRows() {
+        // Arrange
+        when(catalogIndex.query(eq("Electronics"), eq(0L), eq(10_000L), eq("-price"), eq(20L), eq(10)))
+                .thenReturn(new CatalogIndexPage(List.of(7L, 3L), 22));
+        when(productRepository.findListingByIdIn(List.of(7L, 3L)))
+                .thenReturn(List.of(row(3L, "Cable", "5.00"), row(7L, "Charger", "25.00")));
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                "Electronics", new BigDecimal("0"), new BigDecimal("100"),
+                2, 10, "-price", null, TotalsMode.EXACT);
+
+        // Assert
+        assertEquals(22L, response.getTotalItems());
+        assertEquals(3, response.getTotalPages());
+        assertFalse(response.getHasNext());
+        assertEquals("7", response.getItems().get(0).getProductId());
+        assertEquals("3", response.getItems().get(1).getProductId());
+        verifyNoInteractions(productCountService);
+    }
+
+    @Test
+    void getProducts_WithCursor_ShouldSeekPastLastSeenRow() {
+        // Arrange
+        ProductListingRow first = row(11L, "Keyboard", "49.99");
+        ProductListingRow second = row(12L, "Monitor", "199.99");
+        ProductListingRow lookahead = row(13L, "Mouse", "19.99");
+
+        String cursor = ProductCursor.after("name", row(10L, "Headset", "59.00")).encode();
+
+        when(productRepository.findPageAfter(
+                isNull(), anyLong(), anyLong(), eq("name"), eq(false), eq("Headset"), eq(10L), eq(3)))
+                .thenReturn(Arrays.asList(first, second, lookahead));
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                null, new BigDecimal("0"), new BigDecimal("1000"),
+                0, 2, "name", cursor, TotalsMode.EXACT);
+
+        // Assert
+        assertEquals(2, response.getItems().size());
+        assertNotNull(response.getNextCursor());
+        ProductCursor next = ProductCursor.decode(response.getNextCursor(), "name");
+        assertEquals("Monitor", next.getKey());
+        assertEquals(12L, next.getId());
+    }
+
+    @Test
+    void getProducts_WhenLastRowHasNoSortKey_ShouldNotReturnCursor() {
+        // Arrange
+        String cursor = ProductCursor.after("name", row(10L, "Headset", "59.00")).encode();
+
+        when(productRepository.findPageAfter(
+                isNull(), anyLong(), anyLong(), eq("name"), eq(false), eq("Headset"), eq(10L), eq(3)))
+                .thenReturn(Arrays.asList(row(11L, "Keyboard", "49.99"), row(12L, null, "199.99"),
+                        row(13L, null, "19.99")));
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                null, new BigDecimal("0"), new BigDecimal("1000"),
+                0, 2, "name", cursor, TotalsMode.EXACT);
+
+        // Assert
+        assertTrue(response.getHasNext());
+        assertNull(response.getNextCursor());
+        assertThrows(RuntimeException.class, () -> ProductCursor.after("createdAt", row(12L, "Monitor", "199.99")));
+    }
+
+    @Test
+    void getProducts_WithCursorForDifferentSort_ShouldThrowException() {
+        // Arrange
+        String cursor = ProductCursor.after("-price", row(10L, "Headset", "59.00")).encode();
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> productService.getProducts(
+                null, new BigDecimal("0"), new BigDecimal("1000"),
+                0, 10, "name", cursor, TotalsMode.EXACT));
+    }
+
+    @Test
+    void searchProducts_WithOutOfRangePaging_ShouldThrowBeforeSearching() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> productService.searchProducts(
+                "mouse", null, BigDecimal.ZERO, new BigDecimal("1000"), 0, 0));
+        assertThrows(RuntimeException.class, () -> productService.searchProducts(
+                "mouse", null, BigDecimal.ZERO, new BigDecimal("1000"), -1, 10));
+        assertThrows(RuntimeException.class, () -> productService.searchProducts(
+                "mouse", null, BigDecimal.ZERO, new BigDecimal("1000"), Integer.MAX_VALUE, 100));
+        verifyNoInteractions(productSearchIndex);
+    }
+
     @Test
     void getProductById_ExistingProduct_ShouldReturnProduct() {
         // Arrange
         Product mockProduct = Product.builder()
-                .id("1")
+                .id(1L)
                 .name("Test Product")
                 .price(new BigDecimal("99.99"))
                 .build();
 
-        when(productRepository.findById("1")).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
 
         // Act
         ProductResponse response = productService.getProductById("1");
@@ -107,30 +304,248 @@ public class ProductServiceTest {
         assertEquals("Test Product", response.getName());
     }
 
+    @Test
+    void getProductById_EvictedWhileLoading_ShouldNotCacheStaleResponse() {
+        // Arrange
+        Product stale = Product.builder().id(1L).name("Old Name").price(new BigDecimal("99.99")).build();
+        Product fresh = Product.builder().id(1L).name("New Name").price(new BigDecimal("99.99")).build();
+        when(productRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // The update commits and its event arrives after the leader read the old row
+                    productResponseCache.onProductEvent(ProductEvent.builder().productId("1").build());
+                    return Optional.of(stale);
+                })
+                .thenReturn(Optional.of(fresh));
+
+        // Act
+        ProductResponse first = productService.getProductById("1");
+        ProductResponse second = productService.getProductById("1");
+
+        // Assert
+        assertEquals("Old Name", first.getName());
+        assertEquals("New Name", second.getName());
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void batchGetProducts_EvictedWhileLoading_ShouldNotCacheStaleResponse() {
+        // Arrange
+        Product stale = Product.builder().id(2L).name("Old Name").price(new BigDecimal("5.00")).build();
+        when(productRepository.findAllWithCategoryByIdIn(Set.of(2L))).thenAnswer(invocation -> {
+            productResponseCache.onProductEvent(ProductEvent.builder().productId("2").build());
+            return List.of(stale);
+        });
+
+        // Act
+        BatchGetProductsResponse response = productService.batchGetProducts(List.of("2"));
+
+        // Assert
+        assertTrue(response.getResults().get(0).isFound());
+        assertNull(productResponseCache.getIfPresent(2L));
+    }
+
+    @Test
+    void getProductById_RepeatedLookup_ShouldBeServedFromCache() {
+        // Arrange
+        Product mockProduct = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .price(new BigDecimal("99.99"))
+                .build();
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+
+        // Act
+        productService.getProductById("1");
+        ProductResponse response = productService.getProductById("1");
+
+        // Assert
+        assertEquals("Test Product", response.getName());
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getProductById_AfterProductEvent_ShouldReload() {
+        // Arrange
+        Product mockProduct = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .price(new BigDecimal("99.99"))
+                .build();
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        productService.getProductById("1");
+
+        // Act
+        productResponseCache.onProductEvent(ProductEvent.builder()
+                .productId("1")
+                .eventType("ProductUpdated")
+                .build());
+        productService.getProductById("1");
+
+        // Assert
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void batchGetProducts_ShouldResolveInRequestOrderWithNotFoundMarkers() {
+        // Arrange
+        Product cachedProduct = Product.builder()
+                .id(1L)
+                .name("Cached Product")
+                .price(new BigDecimal("10.00"))
+                .build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(cachedProduct));
+        productService.getProductById("1");
+
+        Product loadedProduct = Product.builder()
+                .id(2L)
+                .name("Loaded Product")
+                .price(new BigDecimal("20.00"))
+                .build();
+        when(productRepository.findAllWithCategoryByIdIn(Set.of(2L, 3L)))
+                .thenReturn(List.of(loadedProduct));
+
+        // Act
+        BatchGetProductsResponse response = productService.batchGetProducts(
+                Arrays.asList("3", "2", "abc", "1"));
+
+        // Assert
+        List<BatchProductResult> results = response.getResults();
+        assertEquals(4, results.size());
+        assertEquals("3", results.get(0).getProductId());
+        assertFalse(results.get(0).isFound());
+        assertEquals("Loaded Product", results.get(1).getProduct().getName());
+        assertFalse(results.get(2).isFound());
+        assertEquals("Cached Product", results.get(3).getProduct().getName());
+        verify(productRepository, times(1)).findAllWithCategoryByIdIn(any());
+    }
+
+    @Test
+    void getProductRevision_CachedProduct_ShouldNotQueryRepository() {
+        // Arrange
+        Product mockProduct = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .price(new BigDecimal("99.99"))
+                .updatedAt(LocalDateTime.of(2023, 11, 14, 22, 13, 20))
+                .build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        productService.getProductById("1");
+
+        // Act
+        ProductRevision revision = productService.getProductRevision("1");
+
+        // Assert
+        assertEquals("\"1-1700000000000\"", revision.etag());
+        verify(productRepository, never()).findUpdatedAtById(any());
+    }
+
+    @Test
+    void getListingEtag_ShouldChangeWithCatalogVersion() {
+        // Arrange
+        when(catalogVersion.get()).thenReturn("10-2023-11-14T22:13:20", "11-2023-11-14T22:13:20");
+
+        // Act
+        String before = productService.getListingEtag(null, BigDecimal.ZERO, new BigDecimal("100"),
+                0, 10, "name", null, TotalsMode.EXACT);
+        String after = productService.getListingEtag(null, BigDecimal.ZERO, new BigDecimal("100"),
+                0, 10, "name", null, TotalsMode.EXACT);
+
+        // Assert
+        assertNotEquals(before, after);
+    }
+
     @Test
     void getProductById_NonExistingProduct_ShouldThrowException() {
         // Arrange
-        when(productRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(productRepository.findById(404L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
-            productService.getProductById("nonexistent");
+            productService.getProductById("404");
         });
     }
 
     @Test
-    void getCategories_ShouldReturnAllCategories() {
+    void getCategoryCatalog_ShouldServeSnapshotWithoutQuerying() {
+        // Arrange
+        CategoryCatalogSnapshot snapshot = CategoryCatalogSnapshot.of(3, Map.of(
+                1L, new CategoryStats(1L, "Electronics", 12, new BigDecimal("5.00"), new BigDecimal("999.00")),
+                2L, new CategoryStats(2L, "Books", 40, new BigDecimal("2.50"), new BigDecimal("80.00"))));
+        when(categoryCatalog.getSnapshot()).thenReturn(snapshot);
+
+        // Act
+        CategoryCatalogSnapshot catalog = productService.getCategoryCatalog();
+
+        // Assert
+        assertNotNull(catalog);
+        assertEquals(2, catalog.getResponse().getCategories().size());
+        assertEquals("Books", catalog.getResponse().getCategories().get(0).getName());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getProducts_WithFields_ShouldPushSelectionIntoQuery() {
+        // Arrange
+        ProductListingRow listingRow = row(1L, "Test Product", "99.99");
+        listingRow.setImageUrl("https://img/1.jpg");
+        when(productRepository.findListingFields(isNull(), anyLong(), anyLong(), eq("name"), eq(false), eq(0L), eq(11), any()))
+                .thenReturn(List.of(listingRow));
+
+        // Act
+        PagedProductResponse response = productService.getProducts(
+                null, new BigDecimal("0"), new BigDecimal("100"), 0, 10, "name", null, TotalsMode.NONE,
+                ProductField.parse("price,imageUrl"));
+
+        // Assert
+        ArgumentCaptor<Set<ProductField>> selection = ArgumentCaptor.forClass(Set.class);
+        verify(productRepository).findListingFields(isNull(), anyLong(), anyLong(), eq("name"), eq(false), eq(0L), eq(11),
+                selection.capture());
+        assertEquals(EnumSet.of(ProductField.PRODUCT_ID, ProductField.NAME, ProductField.PRICE, ProductField.IMAGE_URL),
+                selection.getValue());
+        verify(productRepository, never()).findListingByPriceRange(anyLong(), anyLong(), any(Pageable.class));
+
+        ProductResponse item = response.getItems().get(0);
+        assertEquals("1", item.getProductId());
+        assertEquals(new BigDecimal("99.99"), item.getPrice());
+        assertEquals("https://img/1.jpg", item.getImageUrl());
+        assertNull(item.getName());
+        assertNull(item.getStockQuantity());
+    }
+
+    @Test
+    void getProductById_WithFields_ShouldTrimCachedResponse() {
         // Arrange
-        List<String> mockCategories = Arrays.asList("Electronics", "Books");
-        when(productRepository.findDistinctCategories()).thenReturn(mockCategories);
+        ProductResponse cached = ProductResponse.builder()
+                .productId("7")
+                .name("Lamp")
+                .description("A long description")
+                .price(new BigDecimal("20.00"))
+                .updatedAt(1_700_000_000_000L)
+                .build();
+        productResponseCache.put(7L, cached, productResponseCache.generation(7L));
 
         // Act
-        List<String> categories = productService.getCategories();
+        SparseProduct sparse = productService.getProductById("7", ProductField.parse("name"));
 
         // Assert
-        assertNotNull(categories);
-        assertEquals(2, categories.size());
-        assertTrue(categories.contains("Electronics"));
-        assertTrue(categories.contains("Books"));
+        assertEquals("Lamp", sparse.product().getName());
+        assertNull(sparse.product().getDescription());
+        assertNull(sparse.product().getUpdatedAt());
+        assertEquals(1_700_000_000_000L, sparse.revision().lastModified());
+        assertNotEquals(ProductRevision.of(cached).etag(), sparse.revision().etag());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductById_WithUnknownField_ShouldFail() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> productService.getProductById("7", ProductField.parse("secret")));
+    }
+
+    private ProductListingRow row(Long id, String name, String price) {
+        return new ProductListingRow(id, name, null, new BigDecimal(price), null, 0, null, null, null);
     }
-}
\ No newline at end of file
+}
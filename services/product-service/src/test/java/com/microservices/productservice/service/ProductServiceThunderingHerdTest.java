@@ -0,0 +1,153 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.PagedProductResponse;
+import com.microservices.productservice.dto.ProductListingRow;
+import com.microservices.productservice.dto.ProductResponse;
+import com.microservices.productservice.index.CatalogIndex;
+import com.microservices.productservice.model.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.search.ProductSearchIndex;
+import com.microservices.productservice.search.ProductSuggester;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hundreds of concurrent requests over a handful of keys, all arriving while the first
+ * load for each key is still in the database. Every key should cost one query.
+ */
+public class ProductServiceThunderingHerdTest {
+    private static final int KEYS = 5;
+    private static final int CALLERS_PER_KEY = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, AtomicInteger> queriesPerKey = new ConcurrentHashMap<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ProductRepository productRepository;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productService = new ProductService(productRepository, mock(ProductCountService.class),
+                new ProductResponseCache(meterRegistry, 100, Duration.ofMinutes(1)), mock(CategoryCatalog.class),
+                mock(CatalogVersion.class), mock(CatalogIndex.class), mock(ProductSearchIndex.class),
+                mock(ProductSuggester.class), new SingleFlight(meterRegistry, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void getProductById_ThunderingHerd_ShouldQueryOncePerProduct() throws Exception {
+        // Arrange
+        when(productRepository.findById(any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            slowQuery(id);
+            return Optional.of(Product.builder().id(id).name("Product " + id).price(BigDecimal.TEN)
+                    .inventoryCount(1).images(new ArrayList<>()).build());
+        });
+
+        // Act
+        List<ProductResponse> responses = herd(key -> productService.getProductById(String.valueOf(key)));
+
+        // Assert
+        assertQueriedOncePerKey();
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(String.valueOf(i % KEYS), responses.get(i).getProductId());
+        }
+    }
+
+    @Test
+    void getProducts_ThunderingHerdOnSamePages_ShouldQueryOncePerPage() throws Exception {
+        // Arrange
+        when(productRepository.findListingByPriceRange(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(2);
+                    long page = pageable.getPageNumber();
+                    slowQuery(page);
+                    ProductListingRow row = new ProductListingRow(page, "Product " + page, null, BigDecimal.TEN,
+                            null, 1, null, null, null);
+                    return new SliceImpl<>(List.of(row), pageable, true);
+                });
+
+        // Act
+        List<PagedProductResponse> responses = herd(page -> productService.getProducts(
+                null, 0, 1_000_000, page, 1, "name", null, TotalsMode.NONE, null));
+
+        // Assert
+        assertQueriedOncePerKey();
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(String.valueOf(i % KEYS), responses.get(i).getItems().get(0).getProductId());
+        }
+    }
+
+    private void slowQuery(long key) throws InterruptedException {
+        queriesPerKey.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        release.await(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Fires every caller at once and only lets the first query per key finish after all the
+     * others have joined a load, so no caller can arrive late and start a fresh one. Callers
+     * are virtual threads, so followers only get to join if a blocked leader has released its
+     * carrier; a load that waits inside a lock pins it, and with few carriers the herd stalls.
+     */
+    private <T> List<T> herd(IntFunction<T> call) throws Exception {
+        List<Future<T>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int i = 0; i < KEYS * CALLERS_PER_KEY; i++) {
+                int key = i % KEYS;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.apply(key);
+                }));
+            }
+            start.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (followers() < KEYS * (CALLERS_PER_KEY - 1) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private double followers() {
+        return meterRegistry.get("product.single-flight.calls").tag("role", "follower").counter().count();
+    }
+
+    private void assertQueriedOncePerKey() {
+        assertEquals(KEYS, queriesPerKey.size());
+        queriesPerKey.forEach((key, queries) ->
+                assertEquals(1, queries.get(), "queries for key " + key + " under " + CALLERS_PER_KEY + " callers"));
+        assertEquals(KEYS * (CALLERS_PER_KEY - 1), followers());
+    }
+}
@@ -0,0 +1,141 @@
+package com.microservices.productservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentCallersForSameKey_ShouldShareOneLoad() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        }));
+        awaitLeader(loads);
+
+        // Act
+        Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            return "second";
+        }));
+        awaitFollowers(1);
+        release.countDown();
+
+        // Assert
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void execute_LoaderFailure_ShouldReachEveryWaiterAndNotStick() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        RuntimeException failure = new RuntimeException("Product not found");
+        Future<String> leader = executor.submit(() -> singleFlight.execute(7L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        }));
+        awaitLeader(loads);
+        Future<String> follower = executor.submit(() -> singleFlight.execute(7L, () -> "unused"));
+        awaitFollowers(1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertSame(failure, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, follower::get).getCause());
+        assertEquals("retried", singleFlight.execute(7L, () -> "retried"));
+    }
+
+    @Test
+    void execute_SlowLoad_ShouldTimeOutWaitersButNotTheLoader() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> singleFlight.execute("slow", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        }));
+        awaitLeader(loads);
+
+        // Act
+        RuntimeException timeout = assertThrows(RuntimeException.class,
+                () -> singleFlight.execute("slow", () -> "unused"));
+        release.countDown();
+
+        // Assert
+        assertTrue(timeout.getMessage().startsWith("Timed out"));
+        assertEquals(1, meterRegistry.get("product.single-flight.timeouts").counter().count());
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_DifferentKeys_ShouldLoadIndependently() {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        String outer = singleFlight.execute("outer", () -> "outer+" + singleFlight.execute("inner", () -> "inner"));
+
+        // Assert
+        assertEquals("outer+inner", outer);
+        assertEquals(2, meterRegistry.get("product.single-flight.calls").tag("role", "leader").counter().count());
+    }
+
+    private void awaitLeader(AtomicInteger loads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("product.single-flight.calls").tag("role", "follower").counter().count() < count
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
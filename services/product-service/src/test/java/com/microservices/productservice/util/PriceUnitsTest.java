@@ -0,0 +1,60 @@
+package com.microservices.productservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PriceUnitsTest {
+
+    @Test
+    void parseMinorUnits_ShouldScalePlainDecimals() {
+        assertEquals(1999, PriceUnits.parseMinorUnits("19.99", RoundingMode.UNNECESSARY));
+        assertEquals(1990, PriceUnits.parseMinorUnits("19.9", RoundingMode.UNNECESSARY));
+        assertEquals(1900, PriceUnits.parseMinorUnits("19", RoundingMode.UNNECESSARY));
+        assertEquals(1900, PriceUnits.parseMinorUnits("19.", RoundingMode.UNNECESSARY));
+        assertEquals(50, PriceUnits.parseMinorUnits(".5", RoundingMode.UNNECESSARY));
+        assertEquals(-550, PriceUnits.parseMinorUnits("-5.50", RoundingMode.UNNECESSARY));
+        assertEquals(99_999_999_900L, PriceUnits.parseMinorUnits("999999999", RoundingMode.UNNECESSARY));
+        assertEquals(1200, PriceUnits.parseMinorUnits("12.000", RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void parseMinorUnits_ShouldRoundLikeBigDecimal() {
+        // Arrange
+        String[] prices = {"0.125", "0.135", "0.1251", "-0.125", "-0.121", "7.999", "0.001"};
+
+        for (String price : prices) {
+            for (RoundingMode mode : RoundingMode.values()) {
+                if (mode == RoundingMode.UNNECESSARY) {
+                    continue;
+                }
+                // Act
+                long parsed = PriceUnits.parseMinorUnits(price, mode);
+
+                // Assert
+                assertEquals(PriceUnits.toMinorUnits(new BigDecimal(price), mode), parsed, price + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void parseMinorUnits_ShouldRejectMalformedInput() {
+        assertThrows(RuntimeException.class, () -> PriceUnits.parseMinorUnits("", RoundingMode.FLOOR));
+        assertThrows(RuntimeException.class, () -> PriceUnits.parseMinorUnits("-", RoundingMode.FLOOR));
+        assertThrows(RuntimeException.class, () -> PriceUnits.parseMinorUnits("1.2.3", RoundingMode.FLOOR));
+        assertThrows(RuntimeException.class, () -> PriceUnits.parseMinorUnits("1e3", RoundingMode.FLOOR));
+        assertThrows(ArithmeticException.class, () -> PriceUnits.parseMinorUnits("0.125", RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class,
+                () -> PriceUnits.parseMinorUnits("99999999999999999999", RoundingMode.FLOOR));
+    }
+
+    @Test
+    void fromMinorUnits_ShouldRoundTrip() {
+        assertEquals(new BigDecimal("19.99"), PriceUnits.fromMinorUnits(1999));
+        assertEquals(1999, PriceUnits.toMinorUnits(PriceUnits.fromMinorUnits(1999), RoundingMode.UNNECESSARY));
+    }
+}